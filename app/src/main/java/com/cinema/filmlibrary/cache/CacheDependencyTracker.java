@@ -0,0 +1,165 @@
+package com.cinema.filmlibrary.cache;
+
+import com.cinema.filmlibrary.dto.FilmDto;
+import com.cinema.filmlibrary.dto.TaggedDto;
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.entity.Review;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+/** Class that remembers which films and directors every cache entry contains.
+ * Entries are indexed by tag and by cache, so every lookup touches only
+ * the entries it returns.
+ */
+@Component
+public class CacheDependencyTracker {
+    private static final String FILM_TAG = "film:";
+    private static final String DIRECTOR_TAG = "director:";
+
+    private final Map<String, Set<EntryRef>> entriesByTag = new ConcurrentHashMap<>();
+    private final Map<EntryRef, Set<String>> tagsByEntry = new ConcurrentHashMap<>();
+    private final Map<String, Set<Object>> keysByCache = new ConcurrentHashMap<>();
+
+    /** Reference to one entry of one cache. */
+    public record EntryRef(String cacheName, Object key) implements Serializable {
+    }
+
+    /** Function to remember films and directors contained in the cache entry.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     * @param value cached value
+     */
+    public void record(String cacheName, Object key, Object value) {
+        EntryRef ref = new EntryRef(cacheName, key);
+        forget(cacheName, key);
+        Set<String> tags = tagsOf(value);
+        tagsByEntry.put(ref, tags);
+        keysByCache.computeIfAbsent(cacheName, k -> ConcurrentHashMap.newKeySet()).add(key);
+        for (String tag : tags) {
+            entriesByTag.computeIfAbsent(tag, k -> ConcurrentHashMap.newKeySet()).add(ref);
+        }
+    }
+
+    /** Function to forget the cache entry.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     */
+    public void forget(String cacheName, Object key) {
+        EntryRef ref = new EntryRef(cacheName, key);
+        Set<String> tags = tagsByEntry.remove(ref);
+        if (tags == null) {
+            return;
+        }
+        keysByCache.computeIfPresent(cacheName, (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+        for (String tag : tags) {
+            entriesByTag.computeIfPresent(tag, (k, refs) -> {
+                refs.remove(ref);
+                return refs.isEmpty() ? null : refs;
+            });
+        }
+    }
+
+    /** Function to forget all entries of the cache.
+     *
+     * @param cacheName name of the cache
+     */
+    public void forgetAll(String cacheName) {
+        for (Object key : keys(cacheName)) {
+            forget(cacheName, key);
+        }
+    }
+
+    /** Function to get keys of all remembered entries of the cache.
+     *
+     * @param cacheName name of the cache
+     * @return keys of the entries
+     */
+    public List<Object> keys(String cacheName) {
+        return List.copyOf(keysByCache.getOrDefault(cacheName, Set.of()));
+    }
+
+    /** Function to get all entries that contain the film.
+     *
+     * @param filmId id of the film
+     * @return references to the entries
+     */
+    public Set<EntryRef> entriesWithFilm(Long filmId) {
+        return Set.copyOf(entriesByTag.getOrDefault(filmTag(filmId), Set.of()));
+    }
+
+    /** Function to get all entries that contain the director.
+     *
+     * @param directorId id of the director
+     * @return references to the entries
+     */
+    public Set<EntryRef> entriesWithDirector(Long directorId) {
+        return Set.copyOf(entriesByTag.getOrDefault(directorTag(directorId), Set.of()));
+    }
+
+    /** Function to get films and directors contained in the value.
+     *
+     * @param value cached value
+     * @return tags of films and directors
+     */
+    public static Set<String> tagsOf(Object value) {
+        Set<String> tags = new HashSet<>();
+        collectTags(value, tags);
+        return tags;
+    }
+
+    /** Function to get tag of the film.
+     *
+     * @param filmId id of the film
+     * @return tag of the film
+     */
+    public static String filmTag(Long filmId) {
+        return FILM_TAG + filmId;
+    }
+
+    /** Function to get tag of the director.
+     *
+     * @param directorId id of the director
+     * @return tag of the director
+     */
+    public static String directorTag(Long directorId) {
+        return DIRECTOR_TAG + directorId;
+    }
+
+    private static void collectTags(Object value, Set<String> tags) {
+        if (value instanceof Collection<?> values) {
+            values.forEach(item -> collectTags(item, tags));
+        } else if (value instanceof TaggedDto<?> tagged) {
+            collectTags(tagged.getBody(), tags);
+        } else if (value instanceof Film film) {
+            if (film.getId() != null) {
+                tags.add(FILM_TAG + film.getId());
+            }
+        } else if (value instanceof FilmDto filmDto) {
+            if (filmDto.getId() != null) {
+                tags.add(FILM_TAG + filmDto.getId());
+            }
+        } else if (value instanceof Director director) {
+            if (director.getId() != null) {
+                tags.add(DIRECTOR_TAG + director.getId());
+            }
+            if (director.getFilms() != null && Hibernate.isInitialized(director.getFilms())) {
+                director.getFilms().forEach(film -> collectTags(film, tags));
+            }
+        } else if (value instanceof Review review && review.getFilm() != null) {
+            tags.add(FILM_TAG + review.getFilm().getId());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.cinema.filmlibrary.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import org.springframework.core.ConfigurableObjectInputStream;
+
+/** Class to convert values of shared caches and cache messages to bytes.
+ * Only classes of the application, JDK and cache keys may be read back.
+ */
+public final class CacheSerializer {
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "com.cinema.filmlibrary.**;java.**;"
+                    + "org.springframework.cache.interceptor.SimpleKey;!*");
+
+    private CacheSerializer() {
+    }
+
+    /** Function to write object to bytes.
+     *
+     * @param value serializable object
+     * @return bytes of the object
+     */
+    public static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize " + value.getClass(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Function to read object from bytes.
+     *
+     * @param bytes bytes of the object
+     * @return object or null if bytes are null
+     */
+    public static Object deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try (ObjectInputStream in = new ConfigurableObjectInputStream(
+                new ByteArrayInputStream(bytes), CacheSerializer.class.getClassLoader())) {
+            in.setObjectInputFilter(FILTER);
+            return in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot deserialize cached value", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot deserialize cached value", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.cinema.filmlibrary.cache;
+
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+
+/** Class that passes every cache write to the dependency tracker. */
+public class DependencyTrackingCache implements Cache {
+    private final Cache delegate;
+    private final CacheDependencyTracker tracker;
+
+    /** Constructor of the class. */
+    public DependencyTrackingCache(Cache delegate, CacheDependencyTracker tracker) {
+        this.delegate = delegate;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, () -> {
+            T value = valueLoader.call();
+            tracker.record(getName(), key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        tracker.record(getName(), key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            tracker.record(getName(), key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        tracker.forget(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        tracker.forget(getName(), key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        tracker.forgetAll(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        tracker.forgetAll(getName());
+        return delegate.invalidate();
+    }
+}
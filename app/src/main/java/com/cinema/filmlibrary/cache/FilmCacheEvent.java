@@ -0,0 +1,22 @@
+package com.cinema.filmlibrary.cache;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/** Change of data that every instance applies to its caches.
+ *
+ * @param origin id of the instance that changed data
+ * @param films ids of changed films
+ * @param directors ids of changed directors
+ * @param titles titles of changed films
+ * @param directorNames names of changed directors
+ * @param reviewCount amount of reviews of changed films
+ * @param reviews whether reviews of the films changed
+ * @param directorList whether list of all directors changed
+ * @param all whether all cached data must be dropped
+ */
+public record FilmCacheEvent(String origin, Set<Long> films, Set<Long> directors,
+                             Set<String> titles, Set<String> directorNames, long reviewCount,
+                             boolean reviews, boolean directorList, boolean all)
+        implements Serializable {
+}
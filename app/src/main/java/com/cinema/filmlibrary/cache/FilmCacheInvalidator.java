@@ -0,0 +1,238 @@
+package com.cinema.filmlibrary.cache;
+
+import com.cinema.filmlibrary.config.CacheConfig;
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.index.FilmTitleIndex;
+import com.cinema.filmlibrary.utils.NameUtil;
+import com.cinema.filmlibrary.utils.TransactionUtil;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+/** Class to evict only those cache entries that depend on changed data.
+ * Every method takes what it needs from entities immediately and after the
+ * current transaction commits evicts entries of this instance and of the shared
+ * store, then tells other instances to evict entries of their local caches.
+ * Work with the shared store is best-effort: its errors are logged and never
+ * reach the committed transaction, entries left there expire with their TTL.
+ */
+@Component
+public class FilmCacheInvalidator {
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    private final Logger logger = LoggerFactory.getLogger(FilmCacheInvalidator.class);
+
+    private final CacheManager cacheManager;
+    private final CacheDependencyTracker tracker;
+    private final SharedCacheStore sharedStore;
+
+    /** Constructor of the class. */
+    public FilmCacheInvalidator(CacheManager cacheManager, CacheDependencyTracker tracker,
+                                ObjectProvider<SharedCacheStore> sharedStore) {
+        this.cacheManager = cacheManager;
+        this.tracker = tracker;
+        this.sharedStore = sharedStore.getIfAvailable();
+        if (this.sharedStore != null) {
+            this.sharedStore.subscribe(this::received);
+        }
+    }
+
+    /** Function to evict entries affected by creation or update of the film.
+     *
+     * @param film saved film
+     */
+    public void filmChanged(Film film) {
+        Set<String> directorNames = film.getDirectors() == null ? Set.of()
+                : film.getDirectors().stream().map(Director::getName)
+                        .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> directorIds = film.getDirectors() == null ? Set.of()
+                : film.getDirectors().stream().map(Director::getId)
+                        .filter(Objects::nonNull).collect(Collectors.toSet());
+        int reviewCount = film.getReviews() == null ? 0 : film.getReviews().size();
+        Set<String> titles = film.getTitle() == null ? Set.of() : Set.of(film.getTitle());
+
+        publish(new FilmCacheEvent(INSTANCE_ID, Set.of(film.getId()), directorIds, titles,
+                directorNames, reviewCount, false, true, false));
+    }
+
+    /** Function to evict entries affected by deletion of the film.
+     *
+     * @param filmId id of the deleted film
+     */
+    public void filmDeleted(Long filmId) {
+        publish(new FilmCacheEvent(INSTANCE_ID, Set.of(filmId), Set.of(), Set.of(), Set.of(),
+                0, false, false, false));
+    }
+
+    /** Function to evict entries affected by change of film reviews.
+     *
+     * @param filmId id of the film
+     * @param reviewCount amount of reviews of the film after the change
+     */
+    public void reviewsChanged(Long filmId, long reviewCount) {
+        publish(new FilmCacheEvent(INSTANCE_ID, Set.of(filmId), Set.of(), Set.of(), Set.of(),
+                reviewCount, true, false, false));
+    }
+
+    /** Function to evict entries affected by change of the director.
+     *
+     * @param directorId id of the director
+     * @param filmIds ids of films of the director before and after the change
+     * @param names names of the director before and after the change
+     */
+    public void directorChanged(Long directorId, Collection<Long> filmIds,
+                                Collection<String> names) {
+        Set<String> directorNames = names.stream().filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        publish(new FilmCacheEvent(INSTANCE_ID, Set.copyOf(filmIds), Set.of(directorId),
+                Set.of(), directorNames, 0, false, true, false));
+    }
+
+    /** Function to drop all cached data, used when too many films changed at once. */
+    public void allChanged() {
+        publish(new FilmCacheEvent(INSTANCE_ID, Set.of(), Set.of(), Set.of(), Set.of(),
+                0, false, false, true));
+    }
+
+    private void publish(FilmCacheEvent event) {
+        TransactionUtil.afterCommit(() -> {
+            apply(event, true);
+            if (sharedStore == null) {
+                return;
+            }
+            try {
+                sharedStore.publish(event);
+            } catch (RuntimeException e) {
+                logger.warn("Cannot send cache event to other instances", e);
+            }
+        });
+    }
+
+    private void received(Object message) {
+        if (message instanceof FilmCacheEvent event && !INSTANCE_ID.equals(event.origin())) {
+            apply(event, false);
+        }
+    }
+
+    private void apply(FilmCacheEvent event, boolean shared) {
+        if (event.all()) {
+            cacheManager.getCacheNames().forEach(name -> clear(name, shared));
+            return;
+        }
+        for (Long filmId : event.films()) {
+            evictFilm(filmId, shared);
+            if (event.reviews()) {
+                evict(CacheConfig.REVIEWS_CACHE, filmId, shared);
+            }
+        }
+        event.titles().forEach(title -> evictTitleMatches(title, shared));
+        event.directorNames().forEach(name ->
+                evict(CacheConfig.FILMS_BY_DIRECTOR_CACHE, NameUtil.normalize(name), shared));
+        evictReviewCountBelow(event.reviewCount(), shared);
+        event.directors().forEach(directorId -> evictDirector(directorId, shared));
+        if (event.directorList()) {
+            evict(CacheConfig.DIRECTORS_CACHE, SimpleKey.EMPTY, shared);
+        }
+    }
+
+    private void evictFilm(Long filmId, boolean shared) {
+        evict(CacheConfig.FILM_BY_ID_CACHE, filmId, shared);
+        evict(CacheConfig.FILM_JSON_CACHE, filmId, shared);
+        evictAll(tracker.entriesWithFilm(filmId), shared);
+        if (shared) {
+            evictAll(sharedEntriesWithTag(CacheDependencyTracker.filmTag(filmId)), true);
+        }
+        clear(CacheConfig.ALL_FILMS_CACHE, shared);
+        clear(CacheConfig.ALL_FILMS_JSON_CACHE, shared);
+    }
+
+    private void evictDirector(Long directorId, boolean shared) {
+        evict(CacheConfig.DIRECTORS_CACHE, directorId, shared);
+        evictAll(tracker.entriesWithDirector(directorId), shared);
+        if (shared) {
+            evictAll(sharedEntriesWithTag(CacheDependencyTracker.directorTag(directorId)), true);
+        }
+    }
+
+    private void evictTitleMatches(String title, boolean shared) {
+        for (Object key : keys(CacheConfig.FILM_BY_TITLE_CACHE, shared)) {
+            if (key instanceof String text && text.lastIndexOf('_') >= 0) {
+                String query = text.substring(0, text.lastIndexOf('_'));
+                if (FilmTitleIndex.matches(query, title)) {
+                    evict(CacheConfig.FILM_BY_TITLE_CACHE, key, shared);
+                }
+            }
+        }
+    }
+
+    private void evictReviewCountBelow(long reviewCount, boolean shared) {
+        for (Object key : keys(CacheConfig.FILMS_BY_REVIEW_COUNT_CACHE, shared)) {
+            if (key instanceof Long threshold && threshold < reviewCount) {
+                evict(CacheConfig.FILMS_BY_REVIEW_COUNT_CACHE, key, shared);
+            }
+        }
+    }
+
+    private Set<Object> keys(String cacheName, boolean shared) {
+        Set<Object> keys = new HashSet<>(tracker.keys(cacheName));
+        if (shared && sharedStore != null) {
+            try {
+                keys.addAll(sharedStore.keys(cacheName));
+            } catch (RuntimeException e) {
+                logger.warn("Cannot read keys of cache {} from shared store", cacheName, e);
+            }
+        }
+        return keys;
+    }
+
+    private Set<CacheDependencyTracker.EntryRef> sharedEntriesWithTag(String tag) {
+        if (sharedStore == null) {
+            return Set.of();
+        }
+        try {
+            return sharedStore.entriesWithTag(tag);
+        } catch (RuntimeException e) {
+            logger.warn("Cannot read entries with tag {} from shared store", tag, e);
+            return Set.of();
+        }
+    }
+
+    private void evictAll(Set<CacheDependencyTracker.EntryRef> refs, boolean shared) {
+        refs.forEach(ref -> evict(ref.cacheName(), ref.key(), shared));
+    }
+
+    private void evict(String cacheName, Object key, boolean shared) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || key == null) {
+            return;
+        }
+        if (!shared && cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.evictLocal(key);
+        } else {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName, boolean shared) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (!shared && cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.clearLocal();
+        } else {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.cinema.filmlibrary.cache;
+
+import com.cinema.filmlibrary.controller.FilmController;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/** Class to keep responses already serialized to UTF-8 JSON, and gzipped if they are big.
+ * Cache hits are returned as bytes, which are copied to the servlet output stream as is,
+ * so neither mapping to DTOs nor Jackson runs for them. ETag set by the loader is kept
+ * with the body, so an entry that is not evicted yet is sent with the tag of the data
+ * it was built from. Gzipped body is another representation, so it is sent with its own
+ * tag and every response varies by Accept-Encoding. Entries are evicted by
+ * FilmCacheInvalidator together with the cached DTOs they were built from.
+ */
+@Component
+public class JsonResponseCache {
+    private static final String GZIP = "gzip";
+    private static final String GZIP_TAG_SUFFIX = "-gzip";
+    private static final String[] KEPT_HEADERS = {
+        FilmController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG};
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinSize;
+
+    /** Constructor of the class.
+     *
+     * @param cacheManager manager of the caches with serialized responses
+     * @param objectMapper mapper for writing responses as JSON
+     * @param gzipMinSize minimum size of JSON that is also kept gzipped, negative to disable
+     */
+    public JsonResponseCache(CacheManager cacheManager, ObjectMapper objectMapper,
+                             @Value("${app.json-cache.gzip-min-size:2048}") int gzipMinSize) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    /** Serialized response with headers that are sent with it.
+     *
+     * @param json body in UTF-8 JSON
+     * @param gzip gzipped body or null if the body is too small
+     * @param headers headers of the response
+     */
+    public record Entry(byte[] json, byte[] gzip, Map<String, String> headers)
+            implements Serializable {
+    }
+
+    /** Function to get cached response or build, serialize and cache it.
+     * Response is loaded under the entry lock, so eviction after commit that comes
+     * during the load waits for it and removes the possibly outdated entry.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the response
+     * @param acceptEncoding Accept-Encoding header of the request
+     * @param loader function to build response with body and headers
+     * @return response with serialized body
+     */
+    public ResponseEntity<byte[]> get(String cacheName, Object key, String acceptEncoding,
+                                      Supplier<ResponseEntity<?>> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Entry entry;
+        if (cache == null) {
+            entry = serialize(loader.get());
+        } else {
+            try {
+                entry = cache.get(key, () -> serialize(loader.get()));
+            } catch (Cache.ValueRetrievalException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return toResponse(entry, acceptsGzip(acceptEncoding));
+    }
+
+    /** Function to get tag of the gzipped body of the response.
+     *
+     * @param tag tag of the response
+     * @return tag of the gzipped body or null if the tag is null
+     */
+    public static String gzipTag(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        return tag.substring(0, tag.length() - 1) + GZIP_TAG_SUFFIX + "\"";
+    }
+
+    private Entry serialize(ResponseEntity<?> response) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response.getBody());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : KEPT_HEADERS) {
+            String value = response.getHeaders().getFirst(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        byte[] gzip = gzipMinSize >= 0 && json.length >= gzipMinSize ? gzip(json) : null;
+        return new Entry(json, gzip, headers);
+    }
+
+    private static ResponseEntity<byte[]> toResponse(Entry entry, boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        boolean gzipped = gzip && entry.gzip() != null;
+        entry.headers().forEach((name, value) -> response.header(name,
+                gzipped && name.equals(HttpHeaders.ETAG) ? gzipTag(value) : value));
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .contentLength(entry.gzip().length)
+                    .body(entry.gzip());
+        }
+        return response.contentLength(entry.json().length).body(entry.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().toLowerCase(Locale.ROOT).split(";");
+            if (!params[0].trim().equals(GZIP)) {
+                continue;
+            }
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=") && param.substring(2).trim().matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
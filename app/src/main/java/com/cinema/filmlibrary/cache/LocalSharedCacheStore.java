@@ -0,0 +1,126 @@
+package com.cinema.filmlibrary.cache;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** In-memory stand-in of the shared cache store for one instance and local testing.
+ * Values and messages are copied through serialization, so it behaves
+ * like a remote store.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.shared.type", havingValue = "local")
+public class LocalSharedCacheStore implements SharedCacheStore {
+    private record Stored(byte[] value, Set<String> tags, long expiresAt) {
+        private boolean expired() {
+            return expiresAt > 0 && System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+    private final Map<CacheDependencyTracker.EntryRef, Stored> entries =
+            new ConcurrentHashMap<>();
+    private final Map<String, Set<CacheDependencyTracker.EntryRef>> entriesByTag =
+            new ConcurrentHashMap<>();
+    private final List<Consumer<Object>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        CacheDependencyTracker.EntryRef ref = new CacheDependencyTracker.EntryRef(cacheName, key);
+        Stored stored = entries.get(ref);
+        if (stored == null) {
+            return null;
+        }
+        if (stored.expired()) {
+            remove(ref);
+            return null;
+        }
+        return CacheSerializer.deserialize(stored.value());
+    }
+
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
+    @Override
+    public synchronized boolean put(String cacheName, Object key, Object value,
+                                    Set<String> tags, Duration ttl, long generation) {
+        if (generation != ANY_GENERATION && generation != this.generation.get()) {
+            return false;
+        }
+        CacheDependencyTracker.EntryRef ref = new CacheDependencyTracker.EntryRef(cacheName, key);
+        long expiresAt = ttl == null ? 0 : System.currentTimeMillis() + ttl.toMillis();
+        remove(ref);
+        entries.put(ref, new Stored(CacheSerializer.serialize(value), Set.copyOf(tags),
+                expiresAt));
+        for (String tag : tags) {
+            entriesByTag.computeIfAbsent(tag, k -> ConcurrentHashMap.newKeySet()).add(ref);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void evict(String cacheName, Object key) {
+        generation.incrementAndGet();
+        remove(new CacheDependencyTracker.EntryRef(cacheName, key));
+    }
+
+    @Override
+    public synchronized void clear(String cacheName) {
+        generation.incrementAndGet();
+        for (CacheDependencyTracker.EntryRef ref : Set.copyOf(entries.keySet())) {
+            if (ref.cacheName().equals(cacheName)) {
+                remove(ref);
+            }
+        }
+    }
+
+    @Override
+    public Set<Object> keys(String cacheName) {
+        return entries.entrySet().stream()
+                .filter(entry -> entry.getKey().cacheName().equals(cacheName)
+                        && !entry.getValue().expired())
+                .map(entry -> entry.getKey().key())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<CacheDependencyTracker.EntryRef> entriesWithTag(String tag) {
+        return new HashSet<>(entriesByTag.getOrDefault(tag, Set.of()));
+    }
+
+    @Override
+    public void publish(Serializable message) {
+        byte[] bytes = CacheSerializer.serialize(message);
+        listeners.forEach(listener -> listener.accept(CacheSerializer.deserialize(bytes)));
+    }
+
+    @Override
+    public void subscribe(Consumer<Object> listener) {
+        listeners.add(listener);
+    }
+
+    private void remove(CacheDependencyTracker.EntryRef ref) {
+        Stored stored = entries.remove(ref);
+        if (stored == null) {
+            return;
+        }
+        for (String tag : stored.tags()) {
+            entriesByTag.computeIfPresent(tag, (k, refs) -> {
+                refs.remove(ref);
+                return refs.isEmpty() ? null : refs;
+            });
+        }
+    }
+}
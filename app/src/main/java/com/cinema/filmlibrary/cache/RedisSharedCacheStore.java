@@ -0,0 +1,278 @@
+package com.cinema.filmlibrary.cache;
+
+import com.cinema.filmlibrary.config.CacheProperties;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import jakarta.annotation.PreDestroy;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Shared cache store kept in Redis or any server speaking its protocol.
+ * Every entry is a string key with serialized value and a set with its tags,
+ * so eviction of the entry also removes it from entries of its tags. Keys of
+ * every cache and entries of every tag are kept in sorted sets scored by expiry
+ * time of the entry: reads skip expired members, every write drops them, and the
+ * sorted set itself expires together with its latest member, so members of entries
+ * expired by Redis do not pile up. Every put and eviction runs as one Lua script,
+ * so it is atomic and takes one round trip whatever the amount of tags. Evictions
+ * also increment the generation key, and put with an older generation does nothing.
+ * Scripts compute keys of tags from their names, so all keys must be on one server.
+ * Messages go through one channel.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.shared.type", havingValue = "redis")
+public class RedisSharedCacheStore implements SharedCacheStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisSharedCacheStore.class);
+    private static final RedisCodec<String, byte[]> CODEC =
+            RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+    private static final double NO_EXPIRY = Double.MAX_VALUE;
+
+    // Adds member to sorted set scored by expiry time, drops expired members and
+    // makes the set expire with its latest member
+    private static final String ADD_MEMBER = """
+            local function add_member(key, expires_at, member, now)
+              redis.call('ZADD', key, expires_at, member)
+              redis.call('ZREMRANGEBYSCORE', key, '-inf', '(' .. now)
+              local latest = redis.call('ZRANGE', key, -1, -1, 'WITHSCORES')
+              if #latest == 0 or tonumber(latest[2]) >= 1e308 then
+                redis.call('PERSIST', key)
+              else
+                redis.call('PEXPIREAT', key, math.floor(tonumber(latest[2])))
+              end
+            end
+            """;
+    private static final String REMOVE_FROM_TAGS = """
+            local function remove_from_tags(tags_key, ref, tag_prefix)
+              for _, tag in ipairs(redis.call('SMEMBERS', tags_key)) do
+                redis.call('ZREM', tag_prefix .. tag, ref)
+              end
+              redis.call('DEL', tags_key)
+            end
+            """;
+    // KEYS: generation, value, tags of the entry, keys of the cache
+    // ARGV: generation or -1, value, ttl in ms or 0, now, expiry score, key, entry ref,
+    // prefix of tag keys, tags
+    private static final String PUT_SCRIPT = ADD_MEMBER + REMOVE_FROM_TAGS + """
+            if ARGV[1] ~= '-1' and (redis.call('GET', KEYS[1]) or '0') ~= ARGV[1] then
+              return 0
+            end
+            remove_from_tags(KEYS[3], ARGV[7], ARGV[8])
+            if ARGV[3] == '0' then
+              redis.call('SET', KEYS[2], ARGV[2])
+            else
+              redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            end
+            add_member(KEYS[4], ARGV[5], ARGV[6], ARGV[4])
+            for i = 9, #ARGV do
+              redis.call('SADD', KEYS[3], ARGV[i])
+              add_member(ARGV[8] .. ARGV[i], ARGV[5], ARGV[7], ARGV[4])
+            end
+            if #ARGV > 8 and ARGV[3] ~= '0' then
+              redis.call('PEXPIRE', KEYS[3], ARGV[3])
+            end
+            return 1
+            """;
+    // KEYS: generation, value, tags of the entry, keys of the cache
+    // ARGV: key, entry ref, prefix of tag keys
+    private static final String REMOVE_SCRIPT = REMOVE_FROM_TAGS + """
+            redis.call('INCR', KEYS[1])
+            remove_from_tags(KEYS[3], ARGV[2], ARGV[3])
+            redis.call('DEL', KEYS[2], KEYS[3])
+            redis.call('ZREM', KEYS[4], ARGV[1])
+            return 1
+            """;
+
+    private final String prefix;
+    private final String channel;
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, byte[]> connection;
+    private final StatefulRedisPubSubConnection<String, byte[]> pubSubConnection;
+    private final RedisCommands<String, byte[]> redis;
+    private final List<Consumer<Object>> listeners = new CopyOnWriteArrayList<>();
+    private final String putDigest;
+    private final String removeDigest;
+
+    /** Constructor of the class. */
+    public RedisSharedCacheStore(CacheProperties properties) {
+        CacheProperties.Shared shared = properties.getShared();
+        this.prefix = shared.getKeyPrefix();
+        this.channel = prefix + shared.getChannel();
+        this.client = RedisClient.create(shared.getRedisUri());
+        this.connection = client.connect(CODEC);
+        this.redis = connection.sync();
+        this.putDigest = redis.digest(PUT_SCRIPT);
+        this.removeDigest = redis.digest(REMOVE_SCRIPT);
+        this.pubSubConnection = client.connectPubSub(CODEC);
+        pubSubConnection.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String messageChannel, byte[] message) {
+                receive(message);
+            }
+        });
+        pubSubConnection.sync().subscribe(channel);
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        return CacheSerializer.deserialize(redis.get(valueKey(cacheName, entryKey(key))));
+    }
+
+    @Override
+    public long generation() {
+        byte[] generation = redis.get(generationKey());
+        return generation == null ? 0
+                : Long.parseLong(new String(generation, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean put(String cacheName, Object key, Object value, Set<String> tags,
+                       Duration ttl, long generation) {
+        String entryKey = entryKey(key);
+        long now = System.currentTimeMillis();
+        double expiresAt = ttl == null ? NO_EXPIRY : now + ttl.toMillis();
+        List<byte[]> args = new ArrayList<>(List.of(
+                bytes(Long.toString(generation)),
+                CacheSerializer.serialize(value),
+                bytes(Long.toString(ttl == null ? 0 : Math.max(ttl.toMillis(), 1))),
+                bytes(Long.toString(now)),
+                bytes(Double.toString(expiresAt)),
+                CacheSerializer.serialize(key),
+                CacheSerializer.serialize(new CacheDependencyTracker.EntryRef(cacheName, key)),
+                bytes(tagKey(""))));
+        tags.forEach(tag -> args.add(bytes(tag)));
+        Long stored = run(PUT_SCRIPT, putDigest, entryKeys(cacheName, entryKey), args);
+        return stored != null && stored == 1;
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        remove(cacheName, key);
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        redis.incr(generationKey());
+        for (byte[] key : redis.zrange(keysKey(cacheName), 0, -1)) {
+            remove(cacheName, CacheSerializer.deserialize(key));
+        }
+        redis.del(keysKey(cacheName));
+    }
+
+    @Override
+    public Set<Object> keys(String cacheName) {
+        return liveMembers(keysKey(cacheName)).stream()
+                .map(CacheSerializer::deserialize)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<CacheDependencyTracker.EntryRef> entriesWithTag(String tag) {
+        return liveMembers(tagKey(tag)).stream()
+                .map(bytes -> (CacheDependencyTracker.EntryRef) CacheSerializer.deserialize(bytes))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void publish(Serializable message) {
+        redis.publish(channel, CacheSerializer.serialize(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<Object> listener) {
+        listeners.add(listener);
+    }
+
+    /** Function to close connections to the server. */
+    @PreDestroy
+    public void close() {
+        pubSubConnection.close();
+        connection.close();
+        client.shutdown();
+    }
+
+    private void receive(byte[] message) {
+        try {
+            Object value = CacheSerializer.deserialize(message);
+            listeners.forEach(listener -> listener.accept(value));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Cannot handle cache message", e);
+        }
+    }
+
+    private void remove(String cacheName, Object key) {
+        run(REMOVE_SCRIPT, removeDigest, entryKeys(cacheName, entryKey(key)), List.of(
+                CacheSerializer.serialize(key),
+                CacheSerializer.serialize(new CacheDependencyTracker.EntryRef(cacheName, key)),
+                bytes(tagKey(""))));
+    }
+
+    // Scripts are sent by digest, the whole script only when the server does not know it yet
+    private Long run(String script, String digest, String[] keys, List<byte[]> args) {
+        byte[][] values = args.toArray(byte[][]::new);
+        try {
+            return redis.evalsha(digest, ScriptOutputType.INTEGER, keys, values);
+        } catch (RedisNoScriptException e) {
+            return redis.eval(script, ScriptOutputType.INTEGER, keys, values);
+        }
+    }
+
+    private String[] entryKeys(String cacheName, String entryKey) {
+        return new String[] {generationKey(), valueKey(cacheName, entryKey),
+            tagsKey(cacheName, entryKey), keysKey(cacheName)};
+    }
+
+    private List<byte[]> liveMembers(String setKey) {
+        return redis.zrangebyscore(setKey, Range.from(
+                Range.Boundary.including(System.currentTimeMillis()), Range.Boundary.unbounded()));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String entryKey(Object key) {
+        return Base64.getUrlEncoder().encodeToString(CacheSerializer.serialize(key));
+    }
+
+    private String generationKey() {
+        return prefix + "generation";
+    }
+
+    private String valueKey(String cacheName, String entryKey) {
+        return prefix + "value:" + cacheName + ":" + entryKey;
+    }
+
+    private String tagsKey(String cacheName, String entryKey) {
+        return prefix + "tags:" + cacheName + ":" + entryKey;
+    }
+
+    // Names differ from plain sets used before, so old keys cannot clash with sorted sets
+    private String keysKey(String cacheName) {
+        return prefix + "cache-keys:" + cacheName;
+    }
+
+    private String tagKey(String tag) {
+        return prefix + "tag-entries:" + tag;
+    }
+}
@@ -0,0 +1,99 @@
+package com.cinema.filmlibrary.cache;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/** Shared second level of caches, common for all instances of the application.
+ * Besides values it keeps dependencies of entries and passes invalidation
+ * messages between instances.
+ */
+public interface SharedCacheStore {
+
+    /** Generation given to put to store the value whatever was evicted before. */
+    long ANY_GENERATION = -1;
+
+    /** Function to get generation of the store, it grows with every eviction
+     * and clear, so a value loaded after reading it can be stored only if nothing
+     * was invalidated while it was loaded.
+     *
+     * @return current generation, zero or more
+     */
+    long generation();
+
+    /** Function to get value of the entry.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     * @return copy of the value or null if there is no entry
+     */
+    Object get(String cacheName, Object key);
+
+    /** Function to store value of the entry whatever was evicted before.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     * @param value serializable value
+     * @param tags films and directors the value contains
+     * @param ttl time to live of the entry or null to keep it until eviction
+     */
+    default void put(String cacheName, Object key, Object value, Set<String> tags,
+                     Duration ttl) {
+        put(cacheName, key, value, tags, ttl, ANY_GENERATION);
+    }
+
+    /** Function to store value of the entry if the store is still at the generation
+     * read before the value was loaded. Otherwise some entry was evicted after the
+     * value was read from database and it may be stale, so it is not stored.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     * @param value serializable value
+     * @param tags films and directors the value contains
+     * @param ttl time to live of the entry or null to keep it until eviction
+     * @param generation generation read before loading or ANY_GENERATION
+     * @return true if the value was stored
+     */
+    boolean put(String cacheName, Object key, Object value, Set<String> tags, Duration ttl,
+                long generation);
+
+    /** Function to remove the entry.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     */
+    void evict(String cacheName, Object key);
+
+    /** Function to remove all entries of the cache.
+     *
+     * @param cacheName name of the cache
+     */
+    void clear(String cacheName);
+
+    /** Function to get keys of stored entries of the cache.
+     *
+     * @param cacheName name of the cache
+     * @return keys of the entries
+     */
+    Set<Object> keys(String cacheName);
+
+    /** Function to get entries that were stored with the tag.
+     *
+     * @param tag tag of the film or director
+     * @return references to the entries
+     */
+    Set<CacheDependencyTracker.EntryRef> entriesWithTag(String tag);
+
+    /** Function to send message to all instances, including this one.
+     *
+     * @param message serializable message
+     */
+    void publish(Serializable message);
+
+    /** Function to receive messages sent by all instances.
+     *
+     * @param listener action to perform with every message
+     */
+    void subscribe(Consumer<Object> listener);
+}
@@ -0,0 +1,184 @@
+package com.cinema.filmlibrary.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/** Class that keeps entries in local cache in front of the shared store.
+ * Local misses are read from the shared store before loading from database,
+ * and every loaded value is written to both levels. A loaded value goes to the
+ * shared store only if nothing was evicted there while it was loaded, so a value
+ * read before a commit cannot outlive eviction made after the commit. Errors of
+ * the shared store are logged and the cache keeps working with the local level
+ * and database only.
+ */
+public class TwoLevelCache implements Cache {
+    private final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private final Cache local;
+    private final SharedCacheStore shared;
+    private final Duration ttl;
+
+    /** Constructor of the class. */
+    public TwoLevelCache(Cache local, SharedCacheStore shared, Duration ttl) {
+        this.local = local;
+        this.shared = shared;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        Object sharedValue = getShared(key);
+        if (sharedValue == null) {
+            return null;
+        }
+        local.put(key, sharedValue);
+        return new SimpleValueWrapper(sharedValue);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        if (type != null && !type.isInstance(value.get())) {
+            throw new IllegalStateException("Cached value is not of required type ["
+                    + type.getName() + "]: " + value.get());
+        }
+        return (T) value.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(key, () -> {
+            Object sharedValue = getShared(key);
+            if (sharedValue != null) {
+                return (T) sharedValue;
+            }
+            Long generation = sharedGeneration();
+            T value = valueLoader.call();
+            if (generation != null) {
+                putShared(key, value, generation);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        putShared(key, value, SharedCacheStore.ANY_GENERATION);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = local.putIfAbsent(key, value);
+        if (existing == null) {
+            putShared(key, value, SharedCacheStore.ANY_GENERATION);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        evictShared(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evictShared(key);
+        return local.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        clearShared();
+    }
+
+    @Override
+    public boolean invalidate() {
+        clearShared();
+        return local.invalidate();
+    }
+
+    /** Function to remove the entry only from local cache of this instance.
+     *
+     * @param key key of the entry
+     */
+    public void evictLocal(Object key) {
+        local.evict(key);
+    }
+
+    /** Function to remove all entries only from local cache of this instance. */
+    public void clearLocal() {
+        local.clear();
+    }
+
+    private Object getShared(Object key) {
+        try {
+            return shared.get(getName(), key);
+        } catch (RuntimeException e) {
+            logger.warn("Cannot read entry {} of cache {} from shared store", key, getName(), e);
+            return null;
+        }
+    }
+
+    private Long sharedGeneration() {
+        try {
+            return shared.generation();
+        } catch (RuntimeException e) {
+            logger.warn("Cannot read generation of shared store", e);
+            return null;
+        }
+    }
+
+    private void putShared(Object key, Object value, long generation) {
+        if (value == null) {
+            return;
+        }
+        try {
+            shared.put(getName(), key, value, CacheDependencyTracker.tagsOf(value), ttl,
+                    generation);
+        } catch (RuntimeException e) {
+            logger.warn("Cannot write entry {} of cache {} to shared store", key, getName(), e);
+        }
+    }
+
+    private void evictShared(Object key) {
+        try {
+            shared.evict(getName(), key);
+        } catch (RuntimeException e) {
+            logger.warn("Cannot evict entry {} of cache {} from shared store", key, getName(), e);
+        }
+    }
+
+    private void clearShared() {
+        try {
+            shared.clear(getName());
+        } catch (RuntimeException e) {
+            logger.warn("Cannot clear cache {} in shared store", getName(), e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.cinema.filmlibrary.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/** Class to make configuration actions for asynchronous tasks. */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    /** Constructor of the main object that control all asynchronous tasks.
+     * With virtual threads every task gets its own thread and only the amount
+     * of running tasks is limited. A task over the limit is rejected at once, like
+     * with a full queue of the thread pool, instead of blocking the caller as the
+     * concurrency limit of SimpleAsyncTaskExecutor does.
+     *
+     * @param environment environment of the application
+     * @param maxActiveTasks maximum amount of running log tasks
+     * @return executor of asynchronous tasks
+     */
+    @Bean(name = "taskExecutor")
+    public Executor taskExecutor(Environment environment,
+                                 @Value("${app.logs.max-active-tasks:10}") int maxActiveTasks) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("LogTask-");
+            executor.setVirtualThreads(true);
+            Semaphore permits = new Semaphore(maxActiveTasks);
+            return task -> {
+                if (!permits.tryAcquire()) {
+                    throw new TaskRejectedException("Limit of " + maxActiveTasks
+                            + " running log tasks is reached");
+                }
+                try {
+                    executor.execute(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+            };
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(5);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("LogTask-");
+        executor.initialize();
+        return executor;
+    }
+
+    /** Constructor of the executor that sends changes to clients that wait for them.
+     * Sending to a slow client blocks only its own task, so the scheduler that checks
+     * for new changes keeps running.
+     *
+     * @param environment environment of the application
+     * @param threads amount of threads sending changes without virtual threads
+     * @return executor of sending changes
+     */
+    @Bean(name = "changeFeedExecutor")
+    public Executor changeFeedExecutor(Environment environment,
+                                       @Value("${app.changes.send-threads:4}") int threads) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ChangeFeed-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("ChangeFeed-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,126 @@
+package com.cinema.filmlibrary.config;
+
+import com.cinema.filmlibrary.cache.CacheDependencyTracker;
+import com.cinema.filmlibrary.cache.DependencyTrackingCache;
+import com.cinema.filmlibrary.cache.SharedCacheStore;
+import com.cinema.filmlibrary.cache.TwoLevelCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Class to store cache. */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    public static final String FILM_BY_ID_CACHE = "filmById";
+    public static final String FILM_BY_TITLE_CACHE = "filmByTitle";
+    public static final String FILMS_BY_DIRECTOR_CACHE = "filmsByDirector";
+    public static final String FILMS_BY_REVIEW_COUNT_CACHE = "filmsByReviewCount";
+    public static final String ALL_FILMS_CACHE = "allFilms";
+    public static final String DIRECTORS_CACHE = "directors";
+    public static final String REVIEWS_CACHE = "reviews";
+    public static final String FILM_JSON_CACHE = "filmJson";
+    public static final String ALL_FILMS_JSON_CACHE = "allFilmsJson";
+
+    private static final List<String> CACHE_NAMES = List.of(FILM_BY_ID_CACHE,
+            FILM_BY_TITLE_CACHE, FILMS_BY_DIRECTOR_CACHE, FILMS_BY_REVIEW_COUNT_CACHE,
+            ALL_FILMS_CACHE, DIRECTORS_CACHE, REVIEWS_CACHE, FILM_JSON_CACHE,
+            ALL_FILMS_JSON_CACHE);
+
+    /** Function to create manager that will hold all app cache.
+     * Every known cache gets its own size and expiration settings and records
+     * statistics, so hit, miss and eviction rates are exported per cache.
+     * Caches are wrapped to track which films and directors their entries hold,
+     * and shared caches keep entries in the shared store behind the local one.
+     *
+     * @param properties settings of the caches
+     * @param loaderRegistry loaders used to refresh entries after write
+     * @param tracker tracker of cache entry dependencies
+     * @param sharedStoreProvider shared store if it is configured
+     * @return object of CacheManager
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties,
+                                     CacheLoaderRegistry loaderRegistry,
+                                     CacheDependencyTracker tracker,
+                                     ObjectProvider<SharedCacheStore> sharedStoreProvider) {
+        SharedCacheStore sharedStore = sharedStoreProvider.getIfAvailable();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                    com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Cache local = new DependencyTrackingCache(super.adaptCaffeineCache(name, cache),
+                        tracker);
+                CacheProperties.Spec spec = properties.getSpec(name);
+                if (sharedStore == null || !spec.isShared()) {
+                    return local;
+                }
+                return new TwoLevelCache(local, sharedStore, spec.getExpireAfterWrite());
+            }
+        };
+        cacheManager.setCaffeine(builder(properties.getDefaults()));
+        for (String name : CACHE_NAMES) {
+            CacheProperties.Spec spec = properties.getSpec(name);
+            Caffeine<Object, Object> builder = builder(spec)
+                    .evictionListener((key, value, cause) -> tracker.forget(name, key));
+            if (spec.getRefreshAfterWrite() == null) {
+                cacheManager.registerCustomCache(name, builder.build());
+            } else {
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+                cacheManager.registerCustomCache(name,
+                        builder.build(loader(name, loaderRegistry)));
+            }
+        }
+        return cacheManager;
+    }
+
+    /** Function to export statistics of wrapped Caffeine caches.
+     *
+     * @return provider of cache metrics
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public CacheMeterBinderProvider<DependencyTrackingCache> trackingCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache(),
+                cache.getName(), tags);
+    }
+
+    /** Function to export statistics of local level of two-level caches.
+     *
+     * @return provider of cache metrics
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache(),
+                cache.getName(), tags);
+    }
+
+    private static Caffeine<Object, Object> builder(CacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        return builder;
+    }
+
+    private static CacheLoader<Object, Object> loader(String name,
+                                                      CacheLoaderRegistry loaderRegistry) {
+        return key -> loaderRegistry.load(name, key);
+    }
+}
@@ -0,0 +1,32 @@
+package com.cinema.filmlibrary.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+/** Class to hold functions that reload cache entries in background. */
+@Component
+public class CacheLoaderRegistry {
+    private final Map<String, Function<Object, Object>> loaders = new ConcurrentHashMap<>();
+
+    /** Function to register loader for the cache.
+     *
+     * @param cacheName name of the cache
+     * @param loader function that loads value by cache key
+     */
+    public void register(String cacheName, Function<Object, Object> loader) {
+        loaders.put(cacheName, loader);
+    }
+
+    /** Function to load value of the cache entry.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry
+     * @return loaded value or null if there is no loader for the cache
+     */
+    public Object load(String cacheName, Object key) {
+        Function<Object, Object> loader = loaders.get(cacheName);
+        return loader == null ? null : loader.apply(key);
+    }
+}
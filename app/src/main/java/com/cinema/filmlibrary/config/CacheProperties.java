@@ -0,0 +1,54 @@
+package com.cinema.filmlibrary.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Class to hold sizing and expiration settings of every cache. */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+    /** Settings for caches that are not listed in caches. */
+    private Spec defaults = new Spec();
+
+    /** Settings of named caches. */
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    /** Settings of the store shared by all instances. */
+    private Shared shared = new Shared();
+
+    /** Function to get settings of the cache.
+     *
+     * @param name name of the cache
+     * @return settings of the cache or default settings
+     */
+    public Spec getSpec(String name) {
+        return caches.getOrDefault(name, defaults);
+    }
+
+    /** Class to hold settings of one cache. */
+    @Getter
+    @Setter
+    public static class Spec {
+        private long maximumSize = 20;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+        private Duration refreshAfterWrite;
+        /** Whether entries are also kept in the shared store. */
+        private boolean shared;
+    }
+
+    /** Class to hold settings of the shared store. */
+    @Getter
+    @Setter
+    public static class Shared {
+        /** Kind of the store: none, local or redis. */
+        private String type = "none";
+        private String redisUri = "redis://localhost:6379";
+        private String keyPrefix = "film-library:";
+        private String channel = "cache-events";
+    }
+}
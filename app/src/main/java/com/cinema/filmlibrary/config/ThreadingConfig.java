@@ -0,0 +1,67 @@
+package com.cinema.filmlibrary.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/** Class to configure request handling for virtual threads.
+ * Tomcat and asynchronous tasks run on virtual threads when
+ * spring.threads.virtual.enabled is set and Java 21 or newer is used.
+ * Without thread pool the amount of requests handled at the same time is
+ * limited by the size of the connection pool instead.
+ */
+@Configuration
+@EnableConfigurationProperties(ThreadingProperties.class)
+public class ThreadingConfig {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadingConfig.class);
+    private static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+    private static final int DEFAULT_POOL_SIZE = 10; // Hikari default before pool starts
+
+    /** Constructor of the class. */
+    public ThreadingConfig(Environment environment) {
+        if (environment.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.class, false)
+                && !Threading.VIRTUAL.isActive(environment)) {
+            LOGGER.warn("Virtual threads need Java 21 or newer, platform threads are used "
+                    + "on Java {}", System.getProperty("java.version"));
+        }
+    }
+
+    /** Function to register filter that limits amount of requests handled at the same time.
+     *
+     * @param properties limits of request handling
+     * @param dataSource pool of database connections
+     * @param meterRegistry registry for the gauge of handled requests
+     * @return registration of the filter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.threads.limit-requests", havingValue = "true")
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            ThreadingProperties properties, DataSource dataSource, MeterRegistry meterRegistry) {
+        int poolSize = DEFAULT_POOL_SIZE;
+        if (dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+            poolSize = hikari.getMaximumPoolSize();
+        }
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                poolSize * properties.getRequestsPerConnection(), properties.getAcquireTimeout());
+        Gauge.builder("app.requests.concurrent", filter, ConcurrencyLimitFilter::getActive)
+                .description("Requests handled at the moment")
+                .register(meterRegistry);
+        LOGGER.info("Requests handled at the same time are limited to {}", filter.getLimit());
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cinema.filmlibrary.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Class to hold limits of request handling when threads are not pooled.
+ * Virtual threads are switched with spring.threads.virtual.enabled.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.threads")
+public class ThreadingProperties {
+    /** Whether requests handled at the same time are limited by the connection pool size. */
+    private boolean limitRequests;
+
+    /** Requests handled at the same time per connection of the pool. */
+    private int requestsPerConnection = 16;
+
+    /** How long request waits for its turn before it is answered with 503. */
+    private Duration acquireTimeout = Duration.ofSeconds(10);
+}
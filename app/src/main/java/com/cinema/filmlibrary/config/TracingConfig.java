@@ -0,0 +1,29 @@
+package com.cinema.filmlibrary.config;
+
+import com.cinema.filmlibrary.utils.LoggingUtil;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Class to make configuration actions for method call tracing. */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    /** Function to apply tracing to methods selected by configured pointcut.
+     *
+     * @param properties settings of tracing
+     * @return advisor that traces selected methods
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "enabled", matchIfMissing = true)
+    public Advisor tracingAdvisor(TracingProperties properties) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(properties.getPointcut());
+        return new DefaultPointcutAdvisor(pointcut, new LoggingUtil(properties));
+    }
+}
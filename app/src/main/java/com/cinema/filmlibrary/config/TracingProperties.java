@@ -0,0 +1,26 @@
+package com.cinema.filmlibrary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Class to hold settings of method call tracing.
+ * Levels of traced packages are set with logging.level.trace.&lt;package&gt;.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+    /** Whether method calls are traced at all. */
+    private boolean enabled = true;
+
+    /** AspectJ expression that selects traced methods. */
+    private String pointcut = "execution(* com.cinema.filmlibrary.controller..*(..))"
+            + " || execution(* com.cinema.filmlibrary.service..*(..))";
+
+    /** Part of successful calls that are logged, from 0 to 1. Failures are always logged. */
+    private double sampleRate = 1.0;
+
+    /** Maximum length of logged result. */
+    private int maxResultLength = 200;
+}
@@ -0,0 +1,112 @@
+package com.cinema.filmlibrary.controller;
+
+import com.cinema.filmlibrary.dto.ChangeBatchDto;
+import com.cinema.filmlibrary.service.ChangeFeedPublisher;
+import com.cinema.filmlibrary.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Controller for following changes of films, directors and reviews. */
+@RestController
+@RequestMapping("/changes")
+@Tag(name = "Change requests", description = "Ordered feed of changes of films,"
+        + " directors and reviews")
+public class ChangeController {
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final ChangeFeedService changeFeedService;
+    private final ChangeFeedPublisher changeFeedPublisher;
+
+    /** Constructor for ChangeController.
+     *
+     * @param changeFeedService service to read changes
+     * @param changeFeedPublisher publisher of new changes to waiting clients
+     */
+    public ChangeController(ChangeFeedService changeFeedService,
+                            ChangeFeedPublisher changeFeedPublisher) {
+        this.changeFeedService = changeFeedService;
+        this.changeFeedPublisher = changeFeedPublisher;
+    }
+
+    /** Gets changes after specified number, waits for them if there are none yet.
+     *
+     * @param since number of the last known change
+     * @param limit maximum amount of changes
+     * @return batch of changes, empty if nothing changed while waiting
+     */
+    @Operation(summary = "Get changes", description = "Returns changes that follow the"
+            + " specified number in order of commits, waits for them if there are none yet",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Batch of changes and"
+                        + " number to request the next batch after"),
+                @ApiResponse(responseCode = "400", description = "Invalid request",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }"))),
+                @ApiResponse(responseCode = "410", description = "Changes are not kept anymore",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Gone\" }")))
+            })
+    @GetMapping
+    public DeferredResult<ChangeBatchDto> getChanges(
+            @Parameter(description = "Number of the last known change")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum amount of changes")
+            @RequestParam(defaultValue = "100") int limit) {
+        return changeFeedPublisher.poll(since, limit);
+    }
+
+    /** Streams batches of changes after specified number as server-sent events.
+     * Reconnecting clients send id of the last received event, it is used instead of since.
+     *
+     * @param since number of the last known change
+     * @param lastEventId id of the last received event when stream is resumed
+     * @param limit maximum amount of changes in one event
+     * @return stream of batches of changes
+     */
+    @Operation(summary = "Stream changes", description = "Streams batches of changes that"
+            + " follow the specified number in order of commits, id of every event is"
+            + " the number to resume after",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Stream of changes"),
+                @ApiResponse(responseCode = "400", description = "Invalid request",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }"))),
+                @ApiResponse(responseCode = "410", description = "Changes are not kept anymore",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Gone\" }")))
+            })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Number of the last known change")
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId,
+            @Parameter(description = "Maximum amount of changes in one event")
+            @RequestParam(defaultValue = "100") int limit) {
+        long position = lastEventId != null ? lastEventId : since != null ? since : 0L;
+        return changeFeedPublisher.stream(position, limit);
+    }
+
+    /** Gets number of the last committed change.
+     * Clients that load all films first should follow changes after this number.
+     *
+     * @return number of the last change
+     */
+    @Operation(summary = "Get number of the last change", description =
+            "Returns number of the last committed change to follow changes after")
+    @GetMapping("/latest")
+    public long getLatestChange() {
+        return changeFeedService.latestSeq();
+    }
+}
@@ -1,7 +1,9 @@
 package com.cinema.filmlibrary.controller;
 
+import com.cinema.filmlibrary.dto.TaggedDto;
 import com.cinema.filmlibrary.entity.Director;
 import com.cinema.filmlibrary.service.DirectorService;
+import com.cinema.filmlibrary.service.EntityTagService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,6 +11,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,6 +22,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller for handling director-related operations for films.
@@ -27,14 +33,18 @@ import org.springframework.web.bind.annotation.RestController;
 public class DirectorController {
 
     private final DirectorService directorService;
+    private final EntityTagService entityTagService;
 
     /**
      * Constructor for DirectorController.
      *
      * @param directorService service for director operations
+     * @param entityTagService service for ETags of directors
      */
-    public DirectorController(DirectorService directorService) {
+    public DirectorController(DirectorService directorService,
+                              EntityTagService entityTagService) {
         this.directorService = directorService;
+        this.entityTagService = entityTagService;
     }
 
     /**
@@ -80,6 +90,9 @@ public class DirectorController {
                 @ApiResponse(responseCode = "404", description = "Director not found",
                             content = @Content(schema =
                             @Schema(example = "{ \"error\": \"Director not found\" }"))),
+                @ApiResponse(responseCode = "412", description = "Version is not the current one",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Director was changed by another request\" }"))),
                 @ApiResponse(responseCode = "500", description = "Internal server error",
                             content = @Content(schema =
                             @Schema(example = "{ \"error\": \"Internal server error\" }")))
@@ -146,19 +159,28 @@ public class DirectorController {
 
     /**
      * Gets all directors from the database.
+     * Response has ETag of the catalog version, so unchanged catalog gets 304.
+     * Cached directors are sent with the tag they were read with.
      *
+     * @param request request to check If-None-Match header of
      * @return list of all directors
      */
     @Operation(summary = "Get all directors", description =
             "Returns a list of all directors in the system",
             responses = {
                 @ApiResponse(responseCode = "200", description = "List of directors returned"),
+                @ApiResponse(responseCode = "304", description = "Directors not modified"),
                 @ApiResponse(responseCode = "500", description = "Internal server error",
                             content = @Content(schema = @Schema(example =
                                     "{ \"error\": \"Internal server error\" }")))
             })
     @GetMapping("/all")
-    public List<Director> findAllDirectors() {
-        return directorService.findAllDirectors();
+    public ResponseEntity<List<Director>> findAllDirectors(WebRequest request) {
+        String tag = entityTagService.catalogTag(DirectorService.DIRECTORS_TAG);
+        if (entityTagService.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), tag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+        }
+        TaggedDto<List<Director>> directors = directorService.findAllDirectors();
+        return ResponseEntity.ok().eTag(directors.getEntityTag()).body(directors.getBody());
     }
 }
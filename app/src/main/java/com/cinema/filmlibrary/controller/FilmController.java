@@ -0,0 +1,543 @@
+package com.cinema.filmlibrary.controller;
+
+import com.cinema.filmlibrary.cache.JsonResponseCache;
+import com.cinema.filmlibrary.config.CacheConfig;
+import com.cinema.filmlibrary.dto.DirectorDto;
+import com.cinema.filmlibrary.dto.FilmBulkResult;
+import com.cinema.filmlibrary.dto.FilmDto;
+import com.cinema.filmlibrary.dto.FilmRankingDto;
+import com.cinema.filmlibrary.dto.FilmReviewStatsDto;
+import com.cinema.filmlibrary.dto.FilmSearchDto;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.metrics.RequestMetrics;
+import com.cinema.filmlibrary.service.DirectorService;
+import com.cinema.filmlibrary.service.EntityTagService;
+import com.cinema.filmlibrary.service.FilmBulkService;
+import com.cinema.filmlibrary.service.FilmService;
+import com.cinema.filmlibrary.service.ReviewStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+
+/** Controller for handling film-related operations. */
+@RestController
+@RequestMapping("/films")
+@Tag(name = "Film requests", description = "CRUD operations for films in the cinema library")
+public class FilmController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-After";
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String FILMS_TAG = "films";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final String ALL_FILMS_KEY = "all";
+    private static final String[] ALL_FILMS_ENDPOINTS = {
+        "GET /films/all", "GET /films/all/stream"};
+
+    private final FilmService filmService;
+    private final FilmBulkService filmBulkService;
+    private final DirectorService directorService;
+    private final ReviewStatsService reviewStatsService;
+    private final EntityTagService entityTagService;
+    private final JsonResponseCache jsonResponseCache;
+    private final RequestMetrics requestMetrics;
+    private final ObjectMapper objectMapper;
+
+    /** Constructor for FilmController.
+     *
+     * @param filmService service for film operations
+     * @param filmBulkService service for saving films in bulk
+     * @param directorService service for director operations
+     * @param reviewStatsService service for review statistics of films
+     * @param entityTagService service for ETags of films
+     * @param jsonResponseCache cache of films already serialized to JSON
+     * @param requestMetrics metrics of handled requests
+     * @param objectMapper mapper for writing streamed films as JSON lines
+     */
+    public FilmController(FilmService filmService, FilmBulkService filmBulkService,
+                          DirectorService directorService,
+                          ReviewStatsService reviewStatsService,
+                          EntityTagService entityTagService,
+                          JsonResponseCache jsonResponseCache,
+                          RequestMetrics requestMetrics, ObjectMapper objectMapper) {
+        this.filmService = filmService;
+        this.filmBulkService = filmBulkService;
+        this.directorService = directorService;
+        this.reviewStatsService = reviewStatsService;
+        this.entityTagService = entityTagService;
+        this.jsonResponseCache = jsonResponseCache;
+        this.requestMetrics = requestMetrics;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Gets films by title containing substring.
+     *
+     * @param title substring to search in film titles
+     * @param limit maximum amount of films to return
+     * @return list of FilmDtos ranked by title match
+     */
+    @Operation(summary = "Get films by title", description =
+            "Searches for films whose titles contain the specified substring",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Films found"),
+                @ApiResponse(responseCode = "400", description = "Invalid request",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }")))
+            })
+    @GetMapping
+    public List<FilmDto> getFilmByTitle(@RequestParam(required = false) String title,
+                                        @RequestParam(defaultValue = "20") int limit) {
+        return filmService.findByTitle(title, limit);
+    }
+
+    /** Gets all films from database or one page of them.
+     * When after or limit is specified films are returned by pages ordered by id,
+     * and id of the last film is sent in X-Next-After header if more films may follow.
+     * Response has ETag of the catalog version, so unchanged catalog gets 304,
+     * and its JSON is cached, so repeated requests are not serialized again.
+     * Cached JSON keeps the tag read before the films and is sent with it.
+     *
+     * @param after id of the last film from the previous page
+     * @param limit maximum amount of films in the page
+     * @param request request to check If-None-Match and Accept-Encoding headers of
+     * @return list of FilmDtos as JSON
+     */
+    @Operation(summary = "Get all films", description = "Returns a list of all films in the system"
+            + " or one page of them when after or limit is specified",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "List of films",
+                            content = @Content(array = @ArraySchema(schema =
+                                    @Schema(implementation = FilmDto.class)))),
+                @ApiResponse(responseCode = "304", description = "Films not modified"),
+                @ApiResponse(responseCode = "400", description = "Invalid request",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }"))),
+                @ApiResponse(responseCode = "500", description = "Internal server error",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Internal server error\" }")))
+            })
+    @GetMapping("/all")
+    public ResponseEntity<byte[]> getAllFilms(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        ResponseEntity<byte[]> notModified = notModified(request,
+                entityTagService.catalogTag(FILMS_TAG));
+        if (notModified != null) {
+            return notModified;
+        }
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (after == null && limit == null) {
+            return jsonResponseCache.get(CacheConfig.ALL_FILMS_JSON_CACHE, ALL_FILMS_KEY,
+                    acceptEncoding, () -> {
+                        String loadedTag = entityTagService.catalogTag(FILMS_TAG);
+                        return ResponseEntity.ok().eTag(loadedTag)
+                                .body(filmService.readAllFilms());
+                    });
+        }
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        return jsonResponseCache.get(CacheConfig.ALL_FILMS_JSON_CACHE, after + ":" + pageSize,
+                acceptEncoding, () -> {
+                    String loadedTag = entityTagService.catalogTag(FILMS_TAG);
+                    List<FilmDto> films = filmService.findFilmsAfter(after, pageSize);
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(loadedTag);
+                    if (films.size() == pageSize) {
+                        response.header(NEXT_CURSOR_HEADER,
+                                String.valueOf(films.get(films.size() - 1).getId()));
+                    }
+                    return response.body(films);
+                });
+    }
+
+    /** Streams all films as newline delimited JSON.
+     * Films are read with database cursor and written one by one,
+     * so memory use does not depend on the size of the catalog.
+     *
+     * @return stream of FilmDtos, one per line
+     */
+    @Operation(summary = "Stream all films", description =
+            "Streams all films as newline delimited JSON ordered by id",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Stream of all films"),
+                @ApiResponse(responseCode = "500", description = "Internal server error",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Internal server error\" }")))
+            })
+    @GetMapping(value = "/all/stream", produces = NDJSON)
+    public StreamingResponseBody streamAllFilms() {
+        return outputStream -> filmService.streamAllFilms(film -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(film));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /** Gets amount of requests for all films since the last reset.
+     *
+     * @return amount of requests to /films/all and /films/all/stream
+     */
+    @GetMapping("/all/request-count")
+    public int getAllFilmsRequestCount() {
+        return (int) requestMetrics.count(ALL_FILMS_ENDPOINTS);
+    }
+
+    /** The main method. */
+    @PostMapping("/all/reset-request-count")
+    public void resetAllFilmsRequestCount() {
+        requestMetrics.reset(ALL_FILMS_ENDPOINTS);
+    }
+
+    /** Gets film by ID.
+     * Response has ETag of versions of the film and its directors,
+     * so unchanged film gets 304 without being loaded. JSON of the film is cached,
+     * so repeated requests are not mapped and serialized again. Cached film keeps
+     * the tag read before it and is sent with it.
+     *
+     * @param id ID of the film
+     * @param request request to check If-None-Match and Accept-Encoding headers of
+     * @return FilmDto of the requested film as JSON
+     */
+    @Operation(summary = "Get film by ID", description = "Returns a film by its ID",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Film found",
+                            content = @Content(schema =
+                                    @Schema(implementation = FilmDto.class))),
+                @ApiResponse(responseCode = "304", description = "Film not modified"),
+                @ApiResponse(responseCode = "404", description = "Film not found",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Film not found\" }"))),
+                @ApiResponse(responseCode = "500", description = "Internal server error",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Internal server error\" }")))
+            })
+    @GetMapping("/{id}")
+    public ResponseEntity<byte[]> getFilmById(@PathVariable Long id, WebRequest request) {
+        ResponseEntity<byte[]> notModified = notModified(request, entityTagService.filmTag(id));
+        if (notModified != null) {
+            return notModified;
+        }
+        return jsonResponseCache.get(CacheConfig.FILM_JSON_CACHE, id,
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING), () -> {
+                    FilmDto film = filmService.findDtoById(id);
+                    return ResponseEntity.ok().eTag(film.getEntityTag()).body(film);
+                });
+    }
+
+    /** Gets films by director's name.
+     *
+     * @param directorName name of the director
+     * @return list of FilmDtos by specified director
+     */
+    @Operation(summary = "Get films by director's name", description =
+            "Searches for films by the director's name",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Films by director found"),
+                @ApiResponse(responseCode = "400", description = "Invalid request",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }")))
+            })
+    @GetMapping("/find")
+    public List<FilmDto> getBooksByDirectorName(@RequestParam(required = false)
+                                                    String directorName) {
+        return filmService.findByDirectorName(directorName);
+    }
+
+    /** Function to get films with review amount greater than reviewCount.
+     *
+     * @param reviewCount amount of reviews
+     * @return list of films
+     */
+    @Operation(summary = "Get films by review count", description =
+            "Searches for films with review counts greater than the specified value",
+            responses = {
+                @ApiResponse(responseCode = "200", description =
+                            "Films with sufficient reviews found"),
+                @ApiResponse(responseCode = "400", description = "Invalid request",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }")))
+            })
+    @GetMapping("/find/reviews")
+    public List<FilmDto> getBooksByReviewCount(@RequestParam(required = false) Long reviewCount) {
+        return filmService.findByReviewCount(reviewCount);
+    }
+
+    /** Gets directors by beginning of the name or by name with typos.
+     *
+     * @param name beginning or misspelled name of the director
+     * @param limit maximum amount of directors
+     * @return list of DirectorDtos, prefix matches first
+     */
+    @Operation(summary = "Find directors by name", description =
+            "Searches directors by beginning of the name or by similar name, "
+                    + "regardless of case and accents",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Directors found"),
+                @ApiResponse(responseCode = "400", description = "Invalid request",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }")))
+            })
+    @GetMapping("/find/directors")
+    public List<DirectorDto> findDirectors(@RequestParam(required = false) String name,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return directorService.searchByName(name, limit);
+    }
+
+    /** Searches films by any combination of filters and counts them by genre and decade.
+     * Films are returned by pages ordered by id, id of the last film is sent
+     * in X-Next-After header if more films may follow.
+     *
+     * @param title substring of the title
+     * @param genre genre of films
+     * @param yearFrom first release year
+     * @param yearTo last release year
+     * @param director name of one of the directors
+     * @param minRating minimum average rating of reviews
+     * @param after id of the last film from the previous page
+     * @param limit maximum amount of films in the page
+     * @return page of films with amounts of films by genre and decade
+     */
+    @Operation(summary = "Search films", description = "Searches films by title, genre, "
+            + "release years, director and minimum rating, and counts found films "
+            + "by genre and decade",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Films found"),
+                @ApiResponse(responseCode = "400", description = "Invalid filters or limit",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }")))
+            })
+    @GetMapping("/search")
+    public ResponseEntity<FilmSearchDto> searchFilms(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) String director,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        FilmSearchDto result = filmService.search(title, genre, yearFrom, yearTo, director,
+                minRating, after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        List<FilmDto> films = result.getFilms();
+        if (films.size() == limit) {
+            response.header(NEXT_CURSOR_HEADER,
+                    String.valueOf(films.get(films.size() - 1).getId()));
+        }
+        return response.body(result);
+    }
+
+    /** Gets leaderboard of films from memory without database queries.
+     *
+     * @param by ordering of films, rating or reviews
+     * @param genre genre of films, all genres if not specified
+     * @param minReviews minimum amount of reviews of the film
+     * @param limit maximum amount of films
+     * @return films in order of the ranking
+     */
+    @Operation(summary = "Get films leaderboard", description =
+            "Returns films ordered by average rating or by amount of reviews",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Leaderboard found"),
+                @ApiResponse(responseCode = "400", description = "Invalid ranking or limit",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }")))
+            })
+    @GetMapping("/top")
+    public List<FilmRankingDto> getTopFilms(
+            @RequestParam(defaultValue = "rating") String by,
+            @RequestParam(required = false) String genre,
+            @RequestParam(defaultValue = "1") long minReviews,
+            @RequestParam(defaultValue = "10") int limit) {
+        return reviewStatsService.findTop(by, genre, minReviews, limit);
+    }
+
+    /** Gets films with the highest average rating.
+     *
+     * @param limit maximum amount of films
+     * @param minReviews minimum amount of reviews of the film
+     * @return review statistics of films ordered by average rating
+     */
+    @Operation(summary = "Get top rated films", description =
+            "Returns films with the highest average rating and their review statistics",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Top rated films found"),
+                @ApiResponse(responseCode = "400", description = "Invalid limit",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }")))
+            })
+    @GetMapping("/top-rated")
+    public List<FilmReviewStatsDto> getTopRatedFilms(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "1") long minReviews) {
+        return reviewStatsService.findTopRated(limit, minReviews);
+    }
+
+    /** Gets films with the most reviews.
+     *
+     * @param limit maximum amount of films
+     * @return review statistics of films ordered by amount of reviews
+     */
+    @Operation(summary = "Get most reviewed films", description =
+            "Returns films with the most reviews and their review statistics",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Most reviewed films found"),
+                @ApiResponse(responseCode = "400", description = "Invalid limit",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }")))
+            })
+    @GetMapping("/most-reviewed")
+    public List<FilmReviewStatsDto> getMostReviewedFilms(
+            @RequestParam(defaultValue = "10") int limit) {
+        return reviewStatsService.findMostReviewed(limit);
+    }
+
+    /** Gets review statistics of the film.
+     *
+     * @param id ID of the film
+     * @return amount of reviews, average rating and rating histogram
+     */
+    @Operation(summary = "Get review statistics of the film", description =
+            "Returns amount of reviews, average rating and amount of every rating",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Statistics found"),
+                @ApiResponse(responseCode = "404", description = "Film not found",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Film not found\" }")))
+            })
+    @GetMapping("/{id}/review-stats")
+    public FilmReviewStatsDto getReviewStats(@PathVariable Long id) {
+        return reviewStatsService.getStats(id);
+    }
+
+    /** Creates a new film.
+     *
+     * @param film Film object to create
+     * @return created Film object
+     */
+    @Operation(summary = "Создать фильм")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Фильм создан"),
+        @ApiResponse(responseCode = "400", description = "Некорректные данные",
+                    content = @Content(schema = @Schema(example =
+                            "{ \"error\": \"Invalid request data\" }"))),
+        @ApiResponse(responseCode = "403", description = "Доступ запрещен",
+                    content = @Content(schema = @Schema(example =
+                            "{ \"error\": \"Access forbidden\" }")))
+    })
+    @PostMapping
+    @ResponseStatus(code = org.springframework.http.HttpStatus.CREATED)
+    public Film createFilm(@RequestBody Film film) {
+        return filmService.save(film);
+    }
+
+    /** Function to save some films for one request.
+     *
+     * @param films list of films
+     * @return result of saving for every film in the same order
+     */
+    @Operation(summary = "Create films in bulk", description =
+            "Saves films by chunks and returns result for every film",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Results of saving films"),
+                @ApiResponse(responseCode = "400", description = "Invalid request",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }")))
+            })
+    @PostMapping("/bulk")
+    public List<FilmBulkResult> createFilms(@Valid @RequestBody List<Film> films) {
+        return filmBulkService.saveAll(films);
+    }
+
+    /** Updates an existing film.
+     *
+     * @param id ID of the film to update
+     * @param film updated Film data
+     * @param ifMatch tag of the film the client changes, optional
+     * @return updated Film object
+     */
+    @Operation(summary = "Update a film", description =
+            "Updates the details of an existing film",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Film updated"),
+                @ApiResponse(responseCode = "404", description = "Film not found",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Film not found\" }"))),
+                @ApiResponse(responseCode = "400", description = "Invalid request",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Invalid request\" }"))),
+                @ApiResponse(responseCode = "412", description =
+                        "Version or If-Match tag is not the current one",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Film was changed by another request\" }"))),
+                @ApiResponse(responseCode = "500", description = "Internal server error",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Internal server error\" }")))
+            })
+    @PutMapping("/{id}")
+    public Film updateFilm(@PathVariable Long id, @RequestBody Film film,
+                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                           String ifMatch) {
+        return filmService.update(id, film, ifMatch);
+    }
+
+    /** Deletes a film.
+     *
+     * @param id ID of the film to delete
+     */
+    @Operation(summary = "Delete a film", description = "Deletes a film by its ID",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Film deleted"),
+                @ApiResponse(responseCode = "404", description = "Film not found",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Film not found\" }"))),
+                @ApiResponse(responseCode = "500", description = "Internal server error",
+                            content = @Content(schema = @Schema(example =
+                                    "{ \"error\": \"Internal server error\" }")))
+            })
+    @DeleteMapping("/{id}")
+    public void deleteFilm(@PathVariable Long id) {
+        filmService.delete(id);
+    }
+
+    private ResponseEntity<byte[]> notModified(WebRequest request, String tag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        for (String current : new String[] {tag, JsonResponseCache.gzipTag(tag)}) {
+            if (entityTagService.matches(ifNoneMatch, current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(current)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+        }
+        return null;
+    }
+}
@@ -4,11 +4,13 @@ import com.cinema.filmlibrary.entity.LogObj;
 import com.cinema.filmlibrary.service.LogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -32,14 +34,21 @@ public class LogController {
     /** Function to create log file.
      *
      * @param date date of the logs
+     * @param from first date of the logs range
+     * @param to last date of the logs range
      * @return id of the log creation task
      */
-    @Operation(summary = "Create log file", description = "Starts log file creation")
+    @Operation(summary = "Create log file", description =
+            "Starts log file creation for one date or for the range of dates")
     @PostMapping("/generate")
     public ResponseEntity<Long> createLogs(
             @Parameter(description = "Date for logs", example = "19-03-2025")
-            @RequestParam("date") String date) {
-        Long taskId = logService.startLogCreation(date);
+            @RequestParam(value = "date", required = false) String date,
+            @Parameter(description = "First date of the range", example = "17-03-2025")
+            @RequestParam(value = "from", required = false) String from,
+            @Parameter(description = "Last date of the range", example = "19-03-2025")
+            @RequestParam(value = "to", required = false) String to) {
+        Long taskId = logService.startLogCreation(date, from, to);
         return ResponseEntity.accepted().body(taskId);
     }
 
@@ -63,16 +72,26 @@ public class LogController {
     }
 
     /** Function to download created file with specified logs.
+     * Supports Range, If-Range and If-None-Match headers and gzip encoding.
      *
      * @param taskId id of the task
-     * @return file with specified logs
+     * @param request request with range, conditional and encoding headers
+     * @param response response to write file with specified logs to
      */
     @Operation(summary = "Download created logs", description =
-            "Downloads generated log file by ID")
+            "Downloads generated log file by ID, supports partial and conditional requests",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Whole file"),
+                @ApiResponse(responseCode = "206", description = "Requested range of the file"),
+                @ApiResponse(responseCode = "304", description = "File matches If-None-Match"),
+                @ApiResponse(responseCode = "404", description = "Logs not found"),
+                @ApiResponse(responseCode = "416", description = "Range is not satisfiable")
+            })
     @GetMapping("/download/{taskId}")
-    public ResponseEntity<Resource> downloadCreatedLogs(
+    public void downloadCreatedLogs(
             @Parameter(description = "Task ID")
-            @PathVariable("taskId") Long taskId) throws IOException {
-        return logService.downloadCreatedLogs(taskId);
+            @PathVariable("taskId") Long taskId,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logService.downloadCreatedLogs(taskId, request, response);
     }
 }
\ No newline at end of file
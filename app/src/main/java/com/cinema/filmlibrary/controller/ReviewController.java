@@ -1,8 +1,10 @@
 package com.cinema.filmlibrary.controller;
 
 import com.cinema.filmlibrary.dto.ReviewDto;
+import com.cinema.filmlibrary.dto.TaggedDto;
 import com.cinema.filmlibrary.entity.Review;
 import com.cinema.filmlibrary.mapper.ReviewMapper;
+import com.cinema.filmlibrary.service.EntityTagService;
 import com.cinema.filmlibrary.service.ReviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,6 +12,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,6 +23,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller for handling review operations for films.
@@ -28,15 +34,19 @@ import org.springframework.web.bind.annotation.RestController;
 public class ReviewController {
     private final ReviewService reviewService;
     private final ReviewMapper reviewMapper;
+    private final EntityTagService entityTagService;
 
     /** Constructor for ReviewController.
      *
      * @param reviewService service for review operations
      * @param reviewMapper mapper for converting between Review and ReviewDto
+     * @param entityTagService service for ETags of reviews
      */
-    public ReviewController(ReviewService reviewService, ReviewMapper reviewMapper) {
+    public ReviewController(ReviewService reviewService, ReviewMapper reviewMapper,
+                            EntityTagService entityTagService) {
         this.reviewService = reviewService;
         this.reviewMapper = reviewMapper;
+        this.entityTagService = entityTagService;
     }
 
     /** Adds a review to the specified film.
@@ -123,23 +133,34 @@ public class ReviewController {
     }
 
     /** Gets all reviews for a specific film.
+     * Response has ETag of versions of the film and its reviews, so unchanged reviews
+     * get 304. Cached reviews are sent with the tag they were read with.
      *
      * @param filmId ID of the film
+     * @param request request to check If-None-Match header of
      * @return list of ReviewDtos for the film
      */
     @Operation(summary = "Get reviews by film ID", description =
             "Retrieves reviews for the specified film",
             responses = {
                 @ApiResponse(responseCode = "200", description = "List of reviews for the film"),
+                @ApiResponse(responseCode = "304", description = "Reviews not modified"),
                 @ApiResponse(responseCode = "404", description = "Film not found",
                             content = @Content(schema
                                     = @Schema(example = "{ \"error\": \"Film not found\" }")))
             })
     @GetMapping
-    public List<ReviewDto> getReviewsByFilmId(@PathVariable Long filmId) {
-        List<Review> reviews = reviewService.getReviewsByFilmId(filmId);
-        return reviews.stream()
-                .map(reviewMapper::toDto)
-                .toList();
+    public ResponseEntity<List<ReviewDto>> getReviewsByFilmId(@PathVariable Long filmId,
+                                                              WebRequest request) {
+        String tag = entityTagService.reviewsTag(filmId);
+        if (entityTagService.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), tag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+        }
+        TaggedDto<List<Review>> reviews = reviewService.getReviewsByFilmId(filmId);
+        return ResponseEntity.ok()
+                .eTag(reviews.getEntityTag())
+                .body(reviews.getBody().stream()
+                        .map(reviewMapper::toDto)
+                        .toList());
     }
 }
@@ -0,0 +1,17 @@
+package com.cinema.filmlibrary.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Class that represents batch of changes and number to request the next batch after. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeBatchDto {
+    private List<ChangeEventDto> events;
+    private long next;
+}
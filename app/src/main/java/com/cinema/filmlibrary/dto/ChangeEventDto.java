@@ -0,0 +1,22 @@
+package com.cinema.filmlibrary.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Class that represents data transfer object of the change. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDto implements Serializable {
+    private long seq;
+    private String entity;
+    private String operation;
+    private Long id;
+    private Long filmId;
+    private Instant time;
+}
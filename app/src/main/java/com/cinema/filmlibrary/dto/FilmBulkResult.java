@@ -0,0 +1,25 @@
+package com.cinema.filmlibrary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Class that represents result of saving one film from bulk request. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmBulkResult {
+    /** Result of saving the film. */
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    private int index;
+    private Long id;
+    private String title;
+    private Status status;
+    private String error;
+}
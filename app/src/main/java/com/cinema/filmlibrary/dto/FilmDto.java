@@ -1,11 +1,13 @@
 package com.cinema.filmlibrary.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
+import java.io.Serializable;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -17,7 +19,10 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class FilmDto {
+public class FilmDto implements Serializable {
+    // Clients page through /films/all by passing the last id they got as after
+    private Long id;
+
     @NotBlank(message = "Film title cannot be blank")
     @Size(max = 100, message = "Film title must be less than 100 characters")
     private String title;
@@ -34,4 +39,7 @@ public class FilmDto {
     private List<@Valid DirectorDto> directors;
 
     private List<@Valid ReviewDto> reviews;
+
+    @JsonIgnore
+    private String entityTag;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.cinema.filmlibrary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Class that represents position of the film in the leaderboard. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmRankingDto {
+    private int position;
+    private Long filmId;
+    private String title;
+    private String genre;
+    private long reviewCount;
+    private double averageRating;
+}
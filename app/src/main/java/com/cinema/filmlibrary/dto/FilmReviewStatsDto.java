@@ -0,0 +1,20 @@
+package com.cinema.filmlibrary.dto;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Class that represents review statistics of the film. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmReviewStatsDto {
+    private Long filmId;
+    private String title;
+    private long reviewCount;
+    private double averageRating;
+    private Map<Integer, Integer> histogram;
+}
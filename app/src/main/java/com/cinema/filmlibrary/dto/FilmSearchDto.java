@@ -0,0 +1,20 @@
+package com.cinema.filmlibrary.dto;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Class that represents page of found films with amounts of films by genre and decade. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmSearchDto {
+    private long total;
+    private List<FilmDto> films;
+    private Map<String, Long> genres;
+    private Map<String, Long> decades;
+}
@@ -0,0 +1,22 @@
+package com.cinema.filmlibrary.dto;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Class that holds data together with ETag of the version it was read at.
+ * Tag is read before the data, so it is never newer than the data, and cached
+ * copies are sent with their own tag instead of the current one.
+ *
+ * @param <T> type of the data
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaggedDto<T> implements Serializable {
+    private String entityTag;
+    private T body;
+}
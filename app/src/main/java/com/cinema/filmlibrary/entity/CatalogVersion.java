@@ -0,0 +1,38 @@
+package com.cinema.filmlibrary.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Class that holds the only row with version of the whole catalog.
+ * Version is the number of the last change of films, directors or reviews
+ * and is increased in the same transaction as the change. The row is locked
+ * from the increase until commit, so writes commit one at a time.
+ */
+@Entity
+@Table(name = "catalog_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@Schema(description = "Version of the whole catalog.")
+public class CatalogVersion {
+    public static final long ID = 1L;
+
+    @Id
+    @Schema(description = "Identifier of the row, always 1.")
+    private Long id;
+
+    @Column(name = "version", nullable = false)
+    @Schema(description = "Number of the last change of the catalog.")
+    private long version;
+
+    /** Constructor of the class. */
+    public CatalogVersion(Long id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,65 @@
+package com.cinema.filmlibrary.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Class that holds one change of film, director or review written to the outbox
+ * in the same transaction as the change itself.
+ */
+@Entity
+@Table(name = "change_event", indexes = @Index(name = "idx_change_event_created_at",
+        columnList = "created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Change of a film, director or review.")
+public class ChangeEvent {
+
+    /** Kind of changed object. */
+    public enum EntityType {
+        FILM, DIRECTOR, REVIEW
+    }
+
+    /** Kind of the change. */
+    public enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @Schema(description = "Number of the change, changes are numbered in order of commits.")
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    @Schema(description = "Kind of changed object.")
+    private EntityType entityType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 16)
+    @Schema(description = "Kind of the change.")
+    private Operation operation;
+
+    @Column(name = "entity_id", nullable = false)
+    @Schema(description = "Identifier of changed object.")
+    private Long entityId;
+
+    @Column(name = "film_id")
+    @Schema(description = "Identifier of the film the object belongs to.")
+    private Long filmId;
+
+    @Column(name = "created_at", nullable = false)
+    @Schema(description = "Time of the change.")
+    private Instant createdAt;
+}
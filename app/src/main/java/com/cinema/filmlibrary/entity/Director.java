@@ -0,0 +1,77 @@
+package com.cinema.filmlibrary.entity;
+
+import com.cinema.filmlibrary.utils.NameUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+
+/** Class to hold info about directors. **/
+@Entity
+@Table(indexes = @Index(name = "idx_director_name_key", columnList = "name_key",
+        unique = true))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Represents a director of a film.")
+public class Director {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "director_seq")
+    @SequenceGenerator(name = "director_seq", sequenceName = "director_seq", allocationSize = 50)
+    @Schema(description = "Unique identifier of the director.")
+    private Long id;
+
+    @ManyToMany(mappedBy = "directors", fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @JsonIgnoreProperties({"directors", "reviews"})
+    @Schema(description = "Films associated with the director.")
+    private List<Film> films;
+
+    @Schema(description = "Name of the director.")
+    private String name;
+
+    @Schema(description = "Nationality of the director.")
+    private String nationality;
+
+    @Schema(description = "Year of birth of the director.")
+    private int birthYear;
+
+    @Column(name = "name_key")
+    @JsonIgnore
+    @Schema(description = "Name without case and accents the director is looked up by.")
+    private String nameKey;
+
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Schema(description = "Version of the director, increased on every change.")
+    private Long version;
+
+    /** Function to keep lookup key in line with the name. */
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = NameUtil.normalize(name);
+    }
+}
@@ -14,12 +14,16 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.NamedAttributeNode;
 import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 /** Class that represents film. */
 @Entity
@@ -37,7 +41,8 @@ import lombok.ToString;
 @Schema(description = "Represents a film.")
 public class Film {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "film_seq")
+    @SequenceGenerator(name = "film_seq", sequenceName = "film_seq", allocationSize = 50)
     @Schema(description = "Unique identifier of the film.")
     private Long id;
 
@@ -58,11 +63,27 @@ public class Film {
             joinColumns = @JoinColumn(name = "film_id"),
             inverseJoinColumns = @JoinColumn(name = "director_id")
     )
+    @BatchSize(size = 50)
     @Schema(description = "Directors associated with the film.")
     private List<Director> directors;
 
     @OneToMany(mappedBy = "film", cascade = CascadeType.ALL,
             orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @Schema(description = "Reviews associated with the film.")
     private List<Review> reviews;
+
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Schema(description = "Version of the film, increased on every change of the film"
+            + " or its directors list.")
+    private Long version;
+
+    @Column(name = "reviews_version", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Schema(description = "Version of the film reviews, increased on every change of them."
+            + " It is separate from the film version, so adding reviews does not fail"
+            + " updates of the film that run at the same time.")
+    private Long reviewsVersion;
 }
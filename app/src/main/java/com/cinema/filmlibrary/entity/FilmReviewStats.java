@@ -0,0 +1,98 @@
+package com.cinema.filmlibrary.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Class that holds review statistics of the film maintained on every review change. */
+@Entity
+@Table(name = "film_review_stats", indexes = {
+    @Index(name = "idx_film_review_stats_count", columnList = "review_count"),
+    @Index(name = "idx_film_review_stats_average", columnList = "average_rating")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@Schema(description = "Review statistics of a film.")
+public class FilmReviewStats {
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 10;
+
+    @Id
+    @Column(name = "film_id")
+    @Schema(description = "Identifier of the film.")
+    private Long filmId;
+
+    @Column(name = "review_count")
+    @Schema(description = "Amount of reviews of the film.")
+    private long reviewCount;
+
+    @Column(name = "rating_sum")
+    @Schema(description = "Sum of ratings of the film.")
+    private long ratingSum;
+
+    @Column(name = "average_rating")
+    @Schema(description = "Average rating of the film.")
+    private double averageRating;
+
+    @Column(name = "histogram")
+    @Schema(description = "Amount of reviews with every rating from 1 to 10.")
+    private int[] histogram = new int[MAX_RATING];
+
+    @Version
+    private Long version;
+
+    /** Constructor of the class. */
+    public FilmReviewStats(Long filmId) {
+        this.filmId = filmId;
+    }
+
+    /** Function to count new review.
+     *
+     * @param rating rating of the review
+     */
+    public void add(int rating) {
+        reviewCount++;
+        ratingSum += rating;
+        histogram[bucket(rating)]++;
+        updateAverage();
+    }
+
+    /** Function to stop counting removed review.
+     *
+     * @param rating rating of the review
+     */
+    public void remove(int rating) {
+        if (reviewCount == 0) {
+            return;
+        }
+        reviewCount--;
+        ratingSum -= rating;
+        int bucket = bucket(rating);
+        histogram[bucket] = Math.max(0, histogram[bucket] - 1);
+        updateAverage();
+    }
+
+    /** Function to forget all counted reviews. */
+    public void clear() {
+        reviewCount = 0;
+        ratingSum = 0;
+        histogram = new int[MAX_RATING];
+        updateAverage();
+    }
+
+    private void updateAverage() {
+        averageRating = reviewCount == 0 ? 0 : (double) ratingSum / reviewCount;
+    }
+
+    private static int bucket(int rating) {
+        return Math.min(MAX_RATING, Math.max(MIN_RATING, rating)) - MIN_RATING;
+    }
+}
@@ -0,0 +1,202 @@
+package com.cinema.filmlibrary.index;
+
+import com.cinema.filmlibrary.repository.DirectorRepository;
+import com.cinema.filmlibrary.utils.NameUtil;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/** Class that holds ids of directors by their normalized names.
+ * Names are kept sorted, so names with the prefix are one range of the map.
+ * Names are also bucketed by their bigrams: every inserted, deleted or replaced letter
+ * changes at most two bigrams, so a name within the edit distance shares enough bigrams
+ * with the searched one, and edit distance is computed only for such names.
+ * Changes are serialized, reads go without locks.
+ */
+@Component
+public class DirectorNameIndex {
+    private static final int GRAM = 2;
+    private static final char PADDING = '\0';
+
+    private final DirectorRepository directorRepository;
+    private final NavigableMap<String, Long> idsByName = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> namesByGram = new ConcurrentHashMap<>();
+
+    /** Constructor of the class. */
+    public DirectorNameIndex(DirectorRepository directorRepository) {
+        this.directorRepository = directorRepository;
+    }
+
+    /** Function to build index from all directors stored in database. */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        idsByName.clear();
+        namesById.clear();
+        namesByGram.clear();
+        for (Object[] row : directorRepository.findAllNames()) {
+            put((Long) row[0], (String) row[1]);
+        }
+    }
+
+    /** Function to add director to the index or replace the previous name.
+     *
+     * @param id id of the director
+     * @param name name of the director
+     */
+    public synchronized void put(Long id, String name) {
+        if (id == null || name == null) {
+            return;
+        }
+        remove(id);
+        String key = NameUtil.normalize(name);
+        namesById.put(id, key);
+        idsByName.merge(key, id, Math::min);
+        for (String gram : grams(key)) {
+            namesByGram.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    /** Function to remove director from the index.
+     *
+     * @param id id of the director
+     */
+    public synchronized void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        String previous = namesById.remove(id);
+        if (previous != null && idsByName.remove(previous, id)) {
+            for (String gram : grams(previous)) {
+                namesByGram.computeIfPresent(gram, (k, names) -> {
+                    names.remove(previous);
+                    return names.isEmpty() ? null : names;
+                });
+            }
+        }
+    }
+
+    /** Function to find director by name regardless of case and accents.
+     *
+     * @param name name of the director
+     * @return id of the director or null if the name is unknown
+     */
+    public Long find(String name) {
+        String key = NameUtil.normalize(name);
+        return key.isEmpty() ? null : idsByName.get(key);
+    }
+
+    /** Function to find directors whose names start with the prefix or are close to the name.
+     * Prefix matches go first in order of names, then names within the edit distance
+     * ordered by distance.
+     *
+     * @param name beginning or misspelled name of the director
+     * @param maxDistance maximum amount of inserted, deleted or replaced letters
+     * @param limit maximum amount of directors
+     * @return ids of found directors
+     */
+    public List<Long> search(String name, int maxDistance, int limit) {
+        String key = NameUtil.normalize(name);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<Long> result = new LinkedHashSet<>();
+        for (Long id : idsByName.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+            if (result.size() == limit) {
+                return List.copyOf(result);
+            }
+            result.add(id);
+        }
+
+        List<Map.Entry<String, Integer>> similar = new ArrayList<>();
+        for (String candidate : candidates(key, maxDistance)) {
+            if (Math.abs(candidate.length() - key.length()) > maxDistance) {
+                continue;
+            }
+            int distance = distance(key, candidate, maxDistance);
+            if (distance <= maxDistance) {
+                similar.add(Map.entry(candidate, distance));
+            }
+        }
+        similar.sort(Map.Entry.<String, Integer>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())));
+        for (Map.Entry<String, Integer> entry : similar) {
+            if (result.size() == limit) {
+                break;
+            }
+            Long id = idsByName.get(entry.getKey());
+            if (id != null) {
+                result.add(id);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private Collection<String> candidates(String key, int maxDistance) {
+        Set<String> grams = grams(key);
+        int minShared = grams.size() - maxDistance * GRAM;
+        if (minShared <= 0) {
+            // Short name may share no bigrams with a close one, all names are checked
+            return idsByName.keySet();
+        }
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            for (String name : namesByGram.getOrDefault(gram, Set.of())) {
+                shared.merge(name, 1, Integer::sum);
+            }
+        }
+        List<String> result = new ArrayList<>();
+        shared.forEach((name, count) -> {
+            if (count >= minShared) {
+                result.add(name);
+            }
+        });
+        return result;
+    }
+
+    private static Set<String> grams(String key) {
+        String padded = PADDING + key + PADDING;
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static int distance(String first, String second, int maxDistance) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+                        previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+}
@@ -0,0 +1,524 @@
+package com.cinema.filmlibrary.index;
+
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.projection.FilmRow;
+import com.cinema.filmlibrary.repository.FilmRepository;
+import com.cinema.filmlibrary.repository.FilmReviewStatsRepository;
+import com.cinema.filmlibrary.utils.NameUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/** Class that holds bitmaps of films by genre, release year and director for faceted search.
+ * Every film gets a dense ordinal, every value of a facet has a bitmap of ordinals,
+ * so combined filters are intersections of bitmaps and facet counts are their cardinalities.
+ * Average ratings are kept in an array by ordinal and checked only for matching films.
+ * Ordinals follow ids of films and are not reused, so a page of matching films is read
+ * with nextSetBit from the first ordinal after the previous page. When a film with a smaller
+ * id arrives, for example from the id block of another instance, or too many ordinals are
+ * freed, all ordinals are given again in order of ids.
+ */
+@Component
+public class FilmFacetIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final FilmRepository filmRepository;
+    private final FilmReviewStatsRepository statsRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private int size;
+    private long[] filmIds = new long[INITIAL_CAPACITY];
+    private String[] genreKeys = new String[INITIAL_CAPACITY];
+    private int[] years = new int[INITIAL_CAPACITY];
+    private long[][] directorIds = new long[INITIAL_CAPACITY][];
+    private double[] ratings = new double[INITIAL_CAPACITY];
+
+    private final Map<String, BitSet> genres = new HashMap<>();
+    private final Map<String, String> genreNames = new HashMap<>();
+    private final NavigableMap<Integer, BitSet> releaseYears = new TreeMap<>();
+    private final Map<Long, BitSet> directors = new HashMap<>();
+    private final Map<String, Long> directorsByName = new HashMap<>();
+    private final Map<Long, String> directorNames = new HashMap<>();
+
+    /** Facets of one film taken from the entity before its transaction ends.
+     *
+     * @param genre genre of the film
+     * @param releaseYear release year of the film
+     * @param directors names of directors by their ids
+     */
+    public record Facets(String genre, Integer releaseYear, Map<Long, String> directors) {
+
+        /** Function to take facets of the saved film.
+         *
+         * @param film saved film with ids of its directors
+         * @return facets of the film
+         */
+        public static Facets of(Film film) {
+            Map<Long, String> names = new LinkedHashMap<>();
+            if (film.getDirectors() != null) {
+                for (Director director : film.getDirectors()) {
+                    if (director.getId() != null) {
+                        names.put(director.getId(), director.getName());
+                    }
+                }
+            }
+            return new Facets(film.getGenre(), film.getReleaseYear(), names);
+        }
+    }
+
+    /** Filters of the search, null filters are not applied.
+     *
+     * @param genre genre of films
+     * @param yearFrom first release year
+     * @param yearTo last release year
+     * @param director name of one of the directors
+     * @param minRating minimum average rating, films without reviews do not match
+     * @param titleMatches ids of films whose titles match the text, null if no text
+     */
+    public record Query(String genre, Integer yearFrom, Integer yearTo, String director,
+                        Double minRating, Collection<Long> titleMatches) {
+    }
+
+    /** Result of the search.
+     *
+     * @param total amount of matching films
+     * @param filmIds ids of the page of matching films in ascending order
+     * @param genres amount of films by genre, counted without the genre filter
+     * @param decades amount of films by decade, counted without the year filter
+     */
+    public record Result(long total, List<Long> filmIds,
+                         Map<String, Long> genres, Map<String, Long> decades) {
+    }
+
+    /** Constructor of the class. */
+    public FilmFacetIndex(FilmRepository filmRepository,
+                          FilmReviewStatsRepository statsRepository) {
+        this.filmRepository = filmRepository;
+        this.statsRepository = statsRepository;
+    }
+
+    /** Function to build index from films and review statistics stored in database. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(3)
+    public void rebuild() {
+        Map<Long, FilmRow> films = new LinkedHashMap<>();
+        Map<Long, Map<Long, String>> filmDirectors = new HashMap<>();
+        for (FilmRow row : filmRepository.findAllRows()) {
+            films.putIfAbsent(row.filmId(), row);
+            Map<Long, String> names = filmDirectors.computeIfAbsent(row.filmId(),
+                    id -> new LinkedHashMap<>());
+            if (row.directorId() != null) {
+                names.put(row.directorId(), row.directorName());
+            }
+        }
+        List<Object[]> rankings = statsRepository.findRankings();
+
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+            films.forEach((id, row) -> putLocked(id, new Facets(row.genre(), row.releaseYear(),
+                    filmDirectors.get(id))));
+            for (Object[] row : rankings) {
+                rateLocked((Long) row[0], (Double) row[4], (Long) row[3]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Function to add film to the index or replace its previous facets.
+     *
+     * @param filmId id of the film
+     * @param facets facets of the film
+     */
+    public void put(Long filmId, Facets facets) {
+        if (filmId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            putLocked(filmId, facets);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Function to add director to the film.
+     *
+     * @param filmId id of the film
+     * @param directorId id of the director
+     * @param name name of the director
+     */
+    public void addDirector(Long filmId, Long directorId, String name) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(filmId);
+            if (ordinal == null || directorId == null) {
+                return;
+            }
+            nameDirector(directorId, name);
+            long[] current = directorIds[ordinal];
+            if (Arrays.stream(current).noneMatch(id -> id == directorId)) {
+                directorIds[ordinal] = Arrays.copyOf(current, current.length + 1);
+                directorIds[ordinal][current.length] = directorId;
+                directors.computeIfAbsent(directorId, id -> new BitSet()).set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Function to change name the director is found by.
+     *
+     * @param directorId id of the director
+     * @param name new name of the director
+     */
+    public void renameDirector(Long directorId, String name) {
+        lock.writeLock().lock();
+        try {
+            nameDirector(directorId, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Function to change average rating of the film.
+     *
+     * @param filmId id of the film
+     * @param averageRating average rating of the film
+     * @param reviewCount amount of reviews of the film
+     */
+    public void rate(Long filmId, double averageRating, long reviewCount) {
+        if (filmId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rateLocked(filmId, averageRating, reviewCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Function to remove film from the index.
+     *
+     * @param filmId id of the film
+     */
+    public void remove(Long filmId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(filmId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Function to find films matching all filters and count facets.
+     *
+     * @param query filters of the search
+     * @param after id of the last film from the previous page
+     * @param limit maximum amount of films in the page
+     * @return page of matching films and facet counts
+     */
+    public Result search(Query query, long after, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet other = filter(query);
+            BitSet withoutGenre = (BitSet) other.clone();
+            applyYears(withoutGenre, query);
+            BitSet withoutYears = (BitSet) other.clone();
+            applyGenre(withoutYears, query);
+            BitSet matching = (BitSet) withoutGenre.clone();
+            applyGenre(matching, query);
+
+            return new Result(matching.cardinality(), page(matching, after, limit),
+                    genreCounts(withoutGenre), decadeCounts(withoutYears));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet filter(Query query) {
+        BitSet result = (BitSet) live.clone();
+        if (query.director() != null) {
+            Long directorId = directorsByName.get(NameUtil.normalize(query.director()));
+            BitSet films = directorId == null ? null : directors.get(directorId);
+            and(result, films);
+        }
+        if (query.titleMatches() != null) {
+            BitSet films = new BitSet();
+            for (Long id : query.titleMatches()) {
+                Integer ordinal = ordinals.get(id);
+                if (ordinal != null) {
+                    films.set(ordinal);
+                }
+            }
+            result.and(films);
+        }
+        if (query.minRating() != null) {
+            double minRating = query.minRating();
+            for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+                if (!(ratings[i] >= minRating)) {
+                    result.clear(i);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void applyGenre(BitSet result, Query query) {
+        if (query.genre() != null) {
+            and(result, genres.get(NameUtil.normalize(query.genre())));
+        }
+    }
+
+    private void applyYears(BitSet result, Query query) {
+        if (query.yearFrom() == null && query.yearTo() == null) {
+            return;
+        }
+        int from = query.yearFrom() == null ? Integer.MIN_VALUE : query.yearFrom();
+        int to = query.yearTo() == null ? Integer.MAX_VALUE : query.yearTo();
+        BitSet films = new BitSet();
+        if (from <= to) {
+            releaseYears.subMap(from, true, to, true).values().forEach(films::or);
+        }
+        result.and(films);
+    }
+
+    private static void and(BitSet result, BitSet films) {
+        if (films == null) {
+            result.clear();
+        } else {
+            result.and(films);
+        }
+    }
+
+    private List<Long> page(BitSet matching, long after, int limit) {
+        List<Long> result = new ArrayList<>(Math.min(limit, INITIAL_CAPACITY));
+        for (int i = matching.nextSetBit(firstOrdinalAfter(after));
+             i >= 0 && result.size() < limit; i = matching.nextSetBit(i + 1)) {
+            result.add(filmIds[i]);
+        }
+        return result;
+    }
+
+    private int firstOrdinalAfter(long after) {
+        // Freed ordinals keep ids of removed films, so ids of all used ordinals stay sorted
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (filmIds[middle] > after) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private Map<String, Long> genreCounts(BitSet films) {
+        Map<String, Long> counts = new TreeMap<>();
+        genres.forEach((key, bits) -> {
+            BitSet intersection = (BitSet) bits.clone();
+            intersection.and(films);
+            int count = intersection.cardinality();
+            if (count > 0) {
+                counts.put(genreNames.get(key), (long) count);
+            }
+        });
+        return counts;
+    }
+
+    private Map<String, Long> decadeCounts(BitSet films) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        releaseYears.forEach((year, bits) -> {
+            BitSet intersection = (BitSet) bits.clone();
+            intersection.and(films);
+            int count = intersection.cardinality();
+            if (count > 0) {
+                counts.merge(Math.floorDiv(year, 10) * 10 + "s", (long) count, Long::sum);
+            }
+        });
+        return counts;
+    }
+
+    private void putLocked(Long filmId, Facets facets) {
+        int ordinal = ordinalOf(filmId);
+        clearFacets(ordinal);
+
+        if (facets.genre() != null && !facets.genre().isBlank()) {
+            String key = NameUtil.normalize(facets.genre());
+            genreKeys[ordinal] = key;
+            genres.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+            genreNames.putIfAbsent(key, facets.genre().trim());
+        }
+        if (facets.releaseYear() != null) {
+            years[ordinal] = facets.releaseYear();
+            releaseYears.computeIfAbsent(facets.releaseYear(), k -> new BitSet()).set(ordinal);
+        }
+        Map<Long, String> filmDirectors = facets.directors() == null
+                ? Map.of() : facets.directors();
+        directorIds[ordinal] = filmDirectors.keySet().stream().mapToLong(Long::longValue)
+                .toArray();
+        filmDirectors.forEach((directorId, name) -> {
+            nameDirector(directorId, name);
+            directors.computeIfAbsent(directorId, id -> new BitSet()).set(ordinal);
+        });
+        if (ordinal > 0 && filmIds[ordinal - 1] > filmId) {
+            compact();
+        }
+    }
+
+    private void rateLocked(Long filmId, double averageRating, long reviewCount) {
+        // Statistics of films that are not indexed yet or already removed are not kept
+        Integer ordinal = ordinals.get(filmId);
+        if (ordinal != null) {
+            ratings[ordinal] = reviewCount > 0 ? averageRating : Double.NaN;
+        }
+    }
+
+    private void removeLocked(Long filmId) {
+        Integer ordinal = ordinals.remove(filmId);
+        if (ordinal == null) {
+            return;
+        }
+        clearFacets(ordinal);
+        live.clear(ordinal);
+        ratings[ordinal] = Double.NaN;
+        if (size - ordinals.size() > Math.max(INITIAL_CAPACITY, ordinals.size())) {
+            compact();
+        }
+    }
+
+    private void clearLocked() {
+        ordinals.clear();
+        live.clear();
+        size = 0;
+        genres.clear();
+        genreNames.clear();
+        releaseYears.clear();
+        directors.clear();
+        directorsByName.clear();
+        directorNames.clear();
+    }
+
+    private int ordinalOf(Long filmId) {
+        Integer existing = ordinals.get(filmId);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal = size++;
+        if (ordinal >= filmIds.length) {
+            int capacity = filmIds.length * 2;
+            filmIds = Arrays.copyOf(filmIds, capacity);
+            genreKeys = Arrays.copyOf(genreKeys, capacity);
+            years = Arrays.copyOf(years, capacity);
+            directorIds = Arrays.copyOf(directorIds, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+        }
+        live.set(ordinal);
+        genreKeys[ordinal] = null;
+        ordinals.put(filmId, ordinal);
+        filmIds[ordinal] = filmId;
+        directorIds[ordinal] = new long[0];
+        ratings[ordinal] = Double.NaN;
+        return ordinal;
+    }
+
+    private void compact() {
+        int[] order = live.stream().boxed()
+                .sorted(Comparator.comparingLong(ordinal -> filmIds[ordinal]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] mapping = new int[size];
+        long[] newFilmIds = new long[filmIds.length];
+        String[] newGenreKeys = new String[filmIds.length];
+        int[] newYears = new int[filmIds.length];
+        long[][] newDirectorIds = new long[filmIds.length][];
+        double[] newRatings = new double[filmIds.length];
+        for (int i = 0; i < order.length; i++) {
+            int ordinal = order[i];
+            mapping[ordinal] = i;
+            newFilmIds[i] = filmIds[ordinal];
+            newGenreKeys[i] = genreKeys[ordinal];
+            newYears[i] = years[ordinal];
+            newDirectorIds[i] = directorIds[ordinal];
+            newRatings[i] = ratings[ordinal];
+            ordinals.put(filmIds[ordinal], i);
+        }
+        filmIds = newFilmIds;
+        genreKeys = newGenreKeys;
+        years = newYears;
+        directorIds = newDirectorIds;
+        ratings = newRatings;
+        genres.replaceAll((key, bits) -> remap(bits, mapping));
+        releaseYears.replaceAll((year, bits) -> remap(bits, mapping));
+        directors.replaceAll((id, bits) -> remap(bits, mapping));
+        live.clear();
+        live.set(0, order.length);
+        size = order.length;
+    }
+
+    private static BitSet remap(BitSet bits, int[] mapping) {
+        BitSet result = new BitSet();
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.set(mapping[i]);
+        }
+        return result;
+    }
+
+    private void clearFacets(int ordinal) {
+        String genreKey = genreKeys[ordinal];
+        if (genreKey != null) {
+            clearBit(genres, genreKey, ordinal);
+            if (!genres.containsKey(genreKey)) {
+                genreNames.remove(genreKey);
+            }
+            genreKeys[ordinal] = null;
+        }
+        BitSet yearFilms = releaseYears.get(years[ordinal]);
+        if (yearFilms != null && yearFilms.get(ordinal)) {
+            clearBit(releaseYears, years[ordinal], ordinal);
+        }
+        for (long directorId : directorIds[ordinal]) {
+            clearBit(directors, directorId, ordinal);
+        }
+        directorIds[ordinal] = new long[0];
+    }
+
+    private static <K> void clearBit(Map<K, BitSet> bitmaps, K key, int ordinal) {
+        bitmaps.computeIfPresent(key, (k, bits) -> {
+            bits.clear(ordinal);
+            return bits.isEmpty() ? null : bits;
+        });
+    }
+
+    private void nameDirector(Long directorId, String name) {
+        if (directorId == null || name == null) {
+            return;
+        }
+        String previous = directorNames.put(directorId, name);
+        if (previous != null) {
+            directorsByName.remove(NameUtil.normalize(previous), directorId);
+        }
+        directorsByName.put(NameUtil.normalize(name), directorId);
+    }
+}
@@ -0,0 +1,169 @@
+package com.cinema.filmlibrary.index;
+
+import com.cinema.filmlibrary.repository.FilmReviewStatsRepository;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/** Class that holds films with reviews ordered by average rating and by amount of reviews.
+ * Orderings are kept for all films and for every genre in concurrent skip lists,
+ * so top films are read without database queries. Updates carry version of review
+ * statistics, because updates of concurrent transactions may arrive out of commit
+ * order, and older ones are ignored. Removed films keep their last version, so a
+ * late update does not bring them back.
+ */
+@Component
+public class FilmLeaderboard {
+    /** Ordering of the leaderboard. */
+    public enum Ranking {
+        RATING, REVIEWS
+    }
+
+    /** Position of the film in the leaderboard. */
+    public record Entry(Long filmId, String title, String genre,
+                        long reviewCount, double averageRating) {
+    }
+
+    private static final Comparator<Entry> BY_RATING = Comparator
+            .comparingDouble(Entry::averageRating).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::reviewCount).reversed())
+            .thenComparing(Entry::filmId);
+    private static final Comparator<Entry> BY_REVIEWS = Comparator
+            .comparingLong(Entry::reviewCount).reversed()
+            .thenComparing(Comparator.comparingDouble(Entry::averageRating).reversed())
+            .thenComparing(Entry::filmId);
+
+    private final FilmReviewStatsRepository statsRepository;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final Board all = new Board();
+    private final Map<String, Board> genres = new ConcurrentHashMap<>();
+
+    private static final class Board {
+        private final NavigableSet<Entry> byRating = new ConcurrentSkipListSet<>(BY_RATING);
+        private final NavigableSet<Entry> byReviews = new ConcurrentSkipListSet<>(BY_REVIEWS);
+
+        private void add(Entry entry) {
+            byRating.add(entry);
+            byReviews.add(entry);
+        }
+
+        private void remove(Entry entry) {
+            byRating.remove(entry);
+            byReviews.remove(entry);
+        }
+
+        private NavigableSet<Entry> get(Ranking ranking) {
+            return ranking == Ranking.RATING ? byRating : byReviews;
+        }
+    }
+
+    /** Constructor of the class. */
+    public FilmLeaderboard(FilmReviewStatsRepository statsRepository) {
+        this.statsRepository = statsRepository;
+    }
+
+    /** Function to build leaderboard from review statistics stored in database. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2)
+    public void rebuild() {
+        for (Object[] row : statsRepository.findRankings()) {
+            update((Long) row[0], (String) row[1], (String) row[2],
+                    (Long) row[3], (Double) row[4], row[5] == null ? 0 : (Long) row[5]);
+        }
+    }
+
+    /** Function to put film to the leaderboard or move it to the new position.
+     *
+     * @param filmId id of the film
+     * @param title title of the film
+     * @param genre genre of the film
+     * @param reviewCount amount of reviews of the film
+     * @param averageRating average rating of the film
+     * @param version version of review statistics the values were taken from
+     */
+    public void update(Long filmId, String title, String genre,
+                       long reviewCount, double averageRating, long version) {
+        versions.compute(filmId, (id, current) -> {
+            if (current != null && version < current) {
+                return current;
+            }
+            replace(id, reviewCount <= 0 ? null
+                    : new Entry(id, title, genre, reviewCount, averageRating));
+            return version;
+        });
+    }
+
+    /** Function to change title and genre of the film if it is in the leaderboard.
+     *
+     * @param filmId id of the film
+     * @param title new title of the film
+     * @param genre new genre of the film
+     */
+    public void rename(Long filmId, String title, String genre) {
+        versions.computeIfPresent(filmId, (id, version) -> {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                replace(id, new Entry(id, title, genre, entry.reviewCount(),
+                        entry.averageRating()));
+            }
+            return version;
+        });
+    }
+
+    /** Function to remove film from the leaderboard.
+     *
+     * @param filmId id of the film
+     */
+    public void remove(Long filmId) {
+        update(filmId, null, null, 0, 0, Long.MAX_VALUE);
+    }
+
+    /** Function to get top films.
+     *
+     * @param ranking ordering of films
+     * @param genre genre of films or null for all genres
+     * @param minReviews minimum amount of reviews of the film
+     * @param limit maximum amount of films
+     * @return top films in order of the ranking
+     */
+    public List<Entry> top(Ranking ranking, String genre, long minReviews, int limit) {
+        Board board = genre == null ? all : genres.get(normalize(genre));
+        if (board == null) {
+            return List.of();
+        }
+        return board.get(ranking).stream()
+                .filter(entry -> entry.reviewCount() >= minReviews)
+                .limit(limit)
+                .toList();
+    }
+
+    private void replace(Long filmId, Entry entry) {
+        Entry previous = entry == null ? entries.remove(filmId) : entries.put(filmId, entry);
+        if (previous != null) {
+            boardsOf(previous).forEach(board -> board.remove(previous));
+        }
+        if (entry != null) {
+            boardsOf(entry).forEach(board -> board.add(entry));
+        }
+    }
+
+    private List<Board> boardsOf(Entry entry) {
+        if (entry.genre() == null) {
+            return List.of(all);
+        }
+        return List.of(all, genres.computeIfAbsent(normalize(entry.genre()), k -> new Board()));
+    }
+
+    private static String normalize(String genre) {
+        return genre.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,201 @@
+package com.cinema.filmlibrary.index;
+
+import com.cinema.filmlibrary.repository.FilmRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/** Class that holds trigram inverted index over film titles for substring search. */
+@Component
+public class FilmTitleIndex {
+    private static final int GRAM_SIZE = 3;
+
+    private final FilmRepository filmRepository;
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String> titles = new ConcurrentHashMap<>();
+
+    /** Constructor of the class. */
+    public FilmTitleIndex(FilmRepository filmRepository) {
+        this.filmRepository = filmRepository;
+    }
+
+    /** Function to build index from all films stored in database. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        postings.clear();
+        titles.clear();
+        for (Object[] row : filmRepository.findAllTitles()) {
+            add((Long) row[0], (String) row[1]);
+        }
+    }
+
+    /** Function to add film title to the index or replace the previous one.
+     *
+     * @param id id of the film
+     * @param title title of the film
+     */
+    public void add(Long id, String title) {
+        if (id == null || title == null) {
+            return;
+        }
+        remove(id);
+        String normalized = normalize(title);
+        titles.put(id, normalized);
+        for (String gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    /** Function to remove film title from the index.
+     *
+     * @param id id of the film
+     */
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        String previous = titles.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : grams(previous)) {
+            postings.computeIfPresent(gram, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /** Function to find films whose titles contain the query.
+     * Exact matches go first, then prefix matches, then matches at word start,
+     * then all others ordered by match position and title length.
+     *
+     * @param query substring to search
+     * @param limit maximum amount of results
+     * @return ranked ids of the films
+     */
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<Long> matches = new ArrayList<>();
+        for (Long id : candidates(normalized)) {
+            String title = titles.get(id);
+            if (title != null && title.contains(normalized)) {
+                matches.add(id);
+            }
+        }
+
+        Comparator<Long> ranking = Comparator
+                .comparingInt((Long id) -> rank(titles.getOrDefault(id, ""), normalized))
+                .thenComparingInt(id -> titles.getOrDefault(id, "").indexOf(normalized))
+                .thenComparingInt(id -> titles.getOrDefault(id, "").length())
+                .thenComparing(Comparator.naturalOrder());
+        return matches.stream()
+                .sorted(ranking)
+                .limit(limit)
+                .toList();
+    }
+
+    /** Function to find all films whose titles contain the query without ranking them.
+     *
+     * @param query substring to search
+     * @return ids of the films
+     */
+    public Set<Long> matching(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> matches = new HashSet<>();
+        for (Long id : candidates(normalized)) {
+            String title = titles.get(id);
+            if (title != null && title.contains(normalized)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    /** Function to check if title contains query the same way search does.
+     *
+     * @param query substring to search
+     * @param title title of the film
+     * @return true if title matches query
+     */
+    public static boolean matches(String query, String title) {
+        String normalized = normalize(query);
+        return !normalized.isEmpty() && normalize(title).contains(normalized);
+    }
+
+    private Set<Long> candidates(String query) {
+        if (query.length() < GRAM_SIZE) {
+            Set<Long> result = new HashSet<>();
+            postings.forEach((gram, ids) -> {
+                if (gram.contains(query)) {
+                    result.addAll(ids);
+                }
+            });
+            titles.forEach((id, title) -> {
+                if (title.length() < GRAM_SIZE && title.contains(query)) {
+                    result.add(id);
+                }
+            });
+            return result;
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static int rank(String title, String query) {
+        if (title.equals(query)) {
+            return 0;
+        }
+        if (title.startsWith(query)) {
+            return 1;
+        }
+        if (title.contains(" " + query)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -28,6 +28,7 @@ public class FilmMapper {
      */
     public FilmDto toDto(Film film) {
         FilmDto filmDto = new FilmDto();
+        filmDto.setId(film.getId());
         filmDto.setTitle(film.getTitle());
         filmDto.setGenre(film.getGenre());
         filmDto.setReleaseYear(film.getReleaseYear());
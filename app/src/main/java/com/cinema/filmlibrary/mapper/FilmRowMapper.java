@@ -0,0 +1,68 @@
+package com.cinema.filmlibrary.mapper;
+
+import com.cinema.filmlibrary.dto.DirectorDto;
+import com.cinema.filmlibrary.dto.FilmDto;
+import com.cinema.filmlibrary.dto.ReviewDto;
+import com.cinema.filmlibrary.projection.FilmRow;
+import com.cinema.filmlibrary.projection.ReviewRow;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.stereotype.Component;
+
+/** Class to build DTOs from flat query results without loading entities. */
+@Component
+public class FilmRowMapper {
+
+    /** Function to group rows of films and reviews into DTOs.
+     *
+     * @param films rows of films joined with directors, ordered by film
+     * @param reviews rows of reviews of the same films
+     * @return dto objects in order of the film rows
+     */
+    public List<FilmDto> toDtos(List<FilmRow> films, List<ReviewRow> reviews) {
+        Map<Long, FilmDto> dtos = new LinkedHashMap<>();
+        for (FilmRow row : films) {
+            FilmDto filmDto = dtos.computeIfAbsent(row.filmId(), id -> {
+                FilmDto dto = new FilmDto();
+                dto.setId(id);
+                dto.setTitle(row.title());
+                dto.setGenre(row.genre());
+                dto.setReleaseYear(row.releaseYear());
+                dto.setDirectors(new ArrayList<>());
+                dto.setReviews(new ArrayList<>());
+                return dto;
+            });
+            if (row.directorId() != null) {
+                filmDto.getDirectors().add(new DirectorDto(row.directorName(),
+                        row.nationality(), row.birthYear()));
+            }
+        }
+
+        for (ReviewRow row : reviews) {
+            FilmDto filmDto = dtos.get(row.filmId());
+            if (filmDto != null) {
+                filmDto.getReviews().add(new ReviewDto(row.message(), row.rating()));
+            }
+        }
+        return List.copyOf(dtos.values());
+    }
+
+    /** Function to put DTOs in order of ids, DTOs without id in the list are skipped.
+     *
+     * @param dtos dto objects
+     * @param ids ids of films in the required order
+     * @return dto objects in order of ids
+     */
+    public List<FilmDto> inOrderOf(List<FilmDto> dtos, List<Long> ids) {
+        Map<Long, FilmDto> byId = new HashMap<>();
+        dtos.forEach(dto -> byId.put(dto.getId(), dto));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.cinema.filmlibrary.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Class to hold request counters and latencies of one endpoint. */
+public class EndpointMetrics {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile long resetBaseline;
+
+    /** Function to record one handled request.
+     *
+     * @param status status of the response
+     * @param micros time of handling in microseconds
+     */
+    public void record(int status, long micros) {
+        requests.increment();
+        if (status >= 500) {
+            errors.increment();
+        }
+        latency.record(micros);
+    }
+
+    /** Function to get amount of requests since start of the application.
+     *
+     * @return amount of requests
+     */
+    public long requests() {
+        return requests.sum();
+    }
+
+    /** Function to get amount of requests since the last reset.
+     *
+     * @return amount of requests
+     */
+    public long requestsSinceReset() {
+        return requests.sum() - resetBaseline;
+    }
+
+    /** Function to start counting requests since reset from zero.
+     * Counters exported to monitoring stay monotonic.
+     */
+    public void reset() {
+        resetBaseline = requests.sum();
+    }
+
+    /** Function to get amount of requests answered with server error.
+     *
+     * @return amount of failed requests
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+}
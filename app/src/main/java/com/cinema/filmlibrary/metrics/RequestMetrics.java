@@ -0,0 +1,126 @@
+package com.cinema.filmlibrary.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/** Class that holds request metrics of every endpoint.
+ * Metrics are recorded without locks and exported to the meter registry,
+ * so they are available under /actuator/prometheus and /actuator/requests.
+ */
+@Component
+public class RequestMetrics {
+    private static final String REQUESTS_METER = "app.requests";
+    private static final String ERRORS_METER = "app.requests.errors";
+    private static final String LATENCY_METER = "app.requests.latency";
+    private static final String PERCENTILE_METER = "app.requests.latency.percentile";
+    private static final String MAX_METER = "app.requests.latency.max";
+    private static final List<Double> QUANTILES = List.of(0.5, 0.95, 0.99);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    /** Constructor of the class. */
+    public RequestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Function to record one handled request.
+     *
+     * @param endpoint method and path pattern of the endpoint
+     * @param status status of the response
+     * @param nanos time of handling in nanoseconds
+     */
+    public void record(String endpoint, int status, long nanos) {
+        endpoints.computeIfAbsent(endpoint, this::register)
+                .record(status, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /** Function to get amount of requests to endpoints since their last reset.
+     *
+     * @param names method and path patterns of the endpoints
+     * @return sum of requests
+     */
+    public long count(String... names) {
+        return Arrays.stream(names)
+                .map(endpoints::get)
+                .filter(metrics -> metrics != null)
+                .mapToLong(EndpointMetrics::requestsSinceReset)
+                .sum();
+    }
+
+    /** Function to reset request counters of endpoints.
+     *
+     * @param names method and path patterns of the endpoints
+     */
+    public void reset(String... names) {
+        for (String name : names) {
+            endpoints.computeIfAbsent(name, this::register).reset();
+        }
+    }
+
+    /** Function to get current metrics of all endpoints.
+     *
+     * @return metrics by endpoint
+     */
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        endpoints.forEach((name, metrics) -> {
+            LatencyHistogram latency = metrics.latency();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("requests", metrics.requests());
+            values.put("errors", metrics.errors());
+            values.put("meanMicros", latency.count() == 0 ? 0
+                    : latency.totalMicros() / latency.count());
+            for (Double quantile : QUANTILES) {
+                values.put("p" + Math.round(quantile * 100) + "Micros",
+                        latency.percentileMicros(quantile));
+            }
+            values.put("maxMicros", latency.maxMicros());
+            result.put(name, values);
+        });
+        return result;
+    }
+
+    private EndpointMetrics register(String endpoint) {
+        EndpointMetrics metrics = new EndpointMetrics();
+        FunctionCounter.builder(REQUESTS_METER, metrics, EndpointMetrics::requests)
+                .tag("endpoint", endpoint)
+                .description("Handled requests")
+                .register(meterRegistry);
+        FunctionCounter.builder(ERRORS_METER, metrics, EndpointMetrics::errors)
+                .tag("endpoint", endpoint)
+                .description("Requests answered with server error")
+                .register(meterRegistry);
+        FunctionTimer.builder(LATENCY_METER, metrics.latency(),
+                        LatencyHistogram::count, LatencyHistogram::totalMicros,
+                        TimeUnit.MICROSECONDS)
+                .tag("endpoint", endpoint)
+                .description("Time of request handling")
+                .register(meterRegistry);
+        for (Double quantile : QUANTILES) {
+            Gauge.builder(PERCENTILE_METER, metrics.latency(),
+                            latency -> latency.percentileMicros(quantile) / 1e6)
+                    .tag("endpoint", endpoint)
+                    .tag("quantile", String.valueOf(quantile))
+                    .baseUnit("seconds")
+                    .description("Percentile of request handling time since start")
+                    .register(meterRegistry);
+        }
+        Gauge.builder(MAX_METER, metrics.latency(), latency -> latency.maxMicros() / 1e6)
+                .tag("endpoint", endpoint)
+                .baseUnit("seconds")
+                .description("Longest request handling time since start")
+                .register(meterRegistry);
+        return metrics;
+    }
+}
@@ -0,0 +1,27 @@
+package com.cinema.filmlibrary.metrics;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** Class to expose request metrics of every endpoint under /actuator/requests. */
+@Component
+@Endpoint(id = "requests")
+public class RequestMetricsEndpoint {
+    private final RequestMetrics requestMetrics;
+
+    /** Constructor of the class. */
+    public RequestMetricsEndpoint(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    /** Function to get request counters and latency percentiles of endpoints.
+     *
+     * @return metrics by method and path pattern of the endpoint
+     */
+    @ReadOperation
+    public Map<String, Map<String, Object>> requests() {
+        return requestMetrics.snapshot();
+    }
+}
@@ -0,0 +1,50 @@
+package com.cinema.filmlibrary.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/** Class to measure handling time of every request to application controllers.
+ * Start time is kept in request attribute, so asynchronous requests
+ * (streamed responses) are measured until the response is complete.
+ */
+@Component
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+    private static final String START_ATTRIBUTE =
+            RequestMetricsInterceptor.class.getName() + ".start";
+    private static final String CONTROLLER_PACKAGE = "com.cinema.filmlibrary";
+
+    private final RequestMetrics requestMetrics;
+
+    /** Constructor of the class. */
+    public RequestMetricsInterceptor(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                             Object handler) {
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod method) || !(start instanceof Long startNanos)
+                || !method.getBeanType().getPackageName().startsWith(CONTROLLER_PACKAGE)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " "
+                + (pattern == null ? request.getRequestURI() : pattern);
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        requestMetrics.record(endpoint, status, System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,9 @@
+package com.cinema.filmlibrary.projection;
+
+/** Row of flat query result with film and one of its directors.
+ * Director fields are null when the film has no directors.
+ */
+public record FilmRow(Long filmId, String title, String genre, Integer releaseYear,
+                      Long directorId, String directorName, String nationality,
+                      Integer birthYear) {
+}
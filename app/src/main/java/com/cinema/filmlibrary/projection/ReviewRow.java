@@ -0,0 +1,5 @@
+package com.cinema.filmlibrary.projection;
+
+/** Row of flat query result with review of the film. */
+public record ReviewRow(Long filmId, String message, int rating) {
+}
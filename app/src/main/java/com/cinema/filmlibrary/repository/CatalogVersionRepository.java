@@ -0,0 +1,33 @@
+package com.cinema.filmlibrary.repository;
+
+import com.cinema.filmlibrary.entity.CatalogVersion;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** Class that represents database containing version of the catalog. */
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+    /** Function to get version of the catalog without loading entity.
+     *
+     * @param id id of the row
+     * @return version of the catalog
+     */
+    @Query("SELECT catalog.version FROM CatalogVersion catalog WHERE catalog.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /** Function to increase version of the catalog, row stays locked until end of transaction.
+     *
+     * @param id id of the row
+     * @param amount amount to add to the version
+     * @return amount of updated rows
+     */
+    @Modifying
+    @Query("UPDATE CatalogVersion catalog SET catalog.version = catalog.version + :amount"
+            + " WHERE catalog.id = :id")
+    int increment(@Param("id") Long id, @Param("amount") long amount);
+}
@@ -0,0 +1,49 @@
+package com.cinema.filmlibrary.repository;
+
+import com.cinema.filmlibrary.entity.ChangeEvent;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** Class that represents database containing changes of films, directors and reviews. */
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    /** Function to get changes that follow specified number.
+     *
+     * @param seq number of the last known change
+     * @param limit maximum amount of changes
+     * @return changes in order of their numbers
+     */
+    @Query("SELECT event FROM ChangeEvent event WHERE event.seq > :seq ORDER BY event.seq")
+    List<ChangeEvent> findAfter(@Param("seq") long seq, Limit limit);
+
+    /** Function to get number of the oldest stored change.
+     *
+     * @return number of the change or null if there are no changes
+     */
+    @Query("SELECT MIN(event.seq) FROM ChangeEvent event")
+    Long findFirstSeq();
+
+    /** Function to get number of the last change made before specified time.
+     *
+     * @param before time of the oldest change to keep
+     * @return number of the change or null if there are no such changes
+     */
+    @Query("SELECT MAX(event.seq) FROM ChangeEvent event WHERE event.createdAt < :before")
+    Long findLastSeqCreatedBefore(@Param("before") Instant before);
+
+    /** Function to delete changes up to specified number.
+     *
+     * @param seq number of the last change to delete
+     * @return amount of deleted changes
+     */
+    @Modifying
+    @Query("DELETE FROM ChangeEvent event WHERE event.seq <= :seq")
+    int deleteUpTo(@Param("seq") long seq);
+}
@@ -0,0 +1,93 @@
+package com.cinema.filmlibrary.repository;
+
+import com.cinema.filmlibrary.entity.Director;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** Class that represents database containing directors. **/
+@Repository
+public interface DirectorRepository extends JpaRepository<Director, Long> {
+    /** Function to find director by id together with films.
+     *
+     * @param id id of the director
+     * @return object of class director
+     */
+    @EntityGraph(attributePaths = "films")
+    Optional<Director> findById(Long id);
+
+    /** Function to get all directors together with their films in one query.
+     *
+     * @return list of directors
+     */
+    @EntityGraph(attributePaths = "films")
+    List<Director> findAll();
+
+    /** Function to find director by name without case and accents.
+     *
+     * @param nameKey normalized name of the director
+     * @return director with the name if exists
+     */
+    Optional<Director> findFirstByNameKey(String nameKey);
+
+    /** Function to find all directors with normalized names from collection in one query.
+     *
+     * @param nameKeys normalized names of the directors
+     * @return list of found directors
+     */
+    List<Director> findByNameKeyIn(Collection<String> nameKeys);
+
+    /** Function to find directors saved before names were normalized.
+     *
+     * @return directors without lookup key
+     */
+    List<Director> findByNameKeyIsNull();
+
+    /** Function to save director unless director with the same normalized name exists.
+     * Waits for transactions that are saving the same name, so the director can be read
+     * by the name right after the call. The id is a whole block of the sequence, so it
+     * never matches ids Hibernate takes from its own blocks. ON CONFLICT with the column
+     * is PostgreSQL only, other databases use insert through UniqueRowInserter.
+     *
+     * @param name name of the director
+     * @param nationality nationality of the director
+     * @param birthYear year of birth of the director
+     * @param nameKey normalized name of the director
+     * @return amount of saved directors, 0 if the name is taken
+     */
+    @Modifying
+    @Query(value = "INSERT INTO director (id, name, nationality, birth_year, name_key, version)"
+            + " VALUES (nextval('director_seq'), :name, :nationality, :birthYear, :nameKey, 0)"
+            + " ON CONFLICT (name_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("nationality") String nationality,
+                       @Param("birthYear") int birthYear, @Param("nameKey") String nameKey);
+
+    /** Function to save director with id from a whole block of the sequence.
+     * Fails on the unique normalized name if director with the same name exists.
+     *
+     * @param name name of the director
+     * @param nationality nationality of the director
+     * @param birthYear year of birth of the director
+     * @param nameKey normalized name of the director
+     * @return amount of saved directors
+     */
+    @Modifying
+    @Query(value = "INSERT INTO director (id, name, nationality, birth_year, name_key, version)"
+            + " VALUES (nextval('director_seq'), :name, :nationality, :birthYear, :nameKey, 0)",
+            nativeQuery = true)
+    int insert(@Param("name") String name, @Param("nationality") String nationality,
+               @Param("birthYear") int birthYear, @Param("nameKey") String nameKey);
+
+    /** Function to get ids and names of all directors without loading entities.
+     *
+     * @return list of pairs of director id and name
+     */
+    @Query("SELECT director.id, director.name FROM Director director")
+    List<Object[]> findAllNames();
+}
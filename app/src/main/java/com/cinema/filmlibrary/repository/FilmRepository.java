@@ -0,0 +1,146 @@
+package com.cinema.filmlibrary.repository;
+
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.projection.FilmRow;
+import com.cinema.filmlibrary.projection.ReviewRow;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** Class that represents database containing books. */
+@Repository
+public interface FilmRepository extends JpaRepository<Film, Long> {
+
+    /** Function to get ids and titles of all films without loading entities.
+     *
+     * @return list of pairs of film id and title
+     */
+    @Query("SELECT film.id, film.title FROM Film film")
+    List<Object[]> findAllTitles();
+
+    /** Function to get ids and titles of films without loading entities.
+     *
+     * @param ids ids of the films
+     * @return list of pairs of film id and title
+     */
+    @Query("SELECT film.id, film.title FROM Film film WHERE film.id IN :ids")
+    List<Object[]> findTitlesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Function to find book by id.
+     *
+     * @param id id of the film
+     * @return object of Film class
+     */
+    @EntityGraph(value = "Film", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Film> findById(Long id);
+
+    /** Select of flat rows with film and one of its directors. */
+    String FILM_ROWS = "SELECT new com.cinema.filmlibrary.projection.FilmRow(film.id, "
+            + "film.title, film.genre, film.releaseYear, director.id, director.name, "
+            + "director.nationality, director.birthYear) "
+            + "FROM Film film LEFT JOIN film.directors director ";
+
+    /** Select of flat rows with review of the film. */
+    String REVIEW_ROWS = "SELECT new com.cinema.filmlibrary.projection.ReviewRow("
+            + "review.film.id, review.message, review.rating) FROM Review review ";
+
+    /** Function to get all films with their directors as flat rows without loading entities.
+     *
+     * @return rows of films and directors ordered by film id
+     */
+    @Query(FILM_ROWS + "ORDER BY film.id")
+    List<FilmRow> findAllRows();
+
+    /** Function to get films with their directors as flat rows without loading entities.
+     *
+     * @param ids ids of the films
+     * @return rows of films and directors ordered by film id
+     */
+    @Query(FILM_ROWS + "WHERE film.id IN :ids ORDER BY film.id")
+    List<FilmRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Function to get films by director name as flat rows with all their directors.
+     *
+     * @param nameKey normalized name of the director
+     * @return rows of films and directors ordered by film id
+     */
+    @Query(FILM_ROWS + "WHERE film.id IN (SELECT directed.id FROM Film directed "
+            + "JOIN directed.directors named WHERE named.nameKey = :nameKey) "
+            + "ORDER BY film.id")
+    List<FilmRow> findRowsByDirectorName(@Param("nameKey") String nameKey);
+
+    /** Function to read all films with their directors as flat rows with database cursor.
+     * Must be called inside transaction and the stream must be closed.
+     *
+     * @return stream of rows of films and directors ordered by film id
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(FILM_ROWS + "ORDER BY film.id")
+    Stream<FilmRow> streamAllRows();
+
+    /** Function to get reviews of all films as flat rows without loading entities.
+     *
+     * @return rows of reviews ordered by review id
+     */
+    @Query(REVIEW_ROWS + "ORDER BY review.id")
+    List<ReviewRow> findAllReviewRows();
+
+    /** Function to get reviews of films as flat rows without loading entities.
+     *
+     * @param filmIds ids of the films
+     * @return rows of reviews ordered by review id
+     */
+    @Query(REVIEW_ROWS + "WHERE review.film.id IN :filmIds ORDER BY review.id")
+    List<ReviewRow> findReviewRowsByFilmIdIn(@Param("filmIds") Collection<Long> filmIds);
+
+    /** Function to get ids of films that follow specified id.
+     *
+     * @param id id of the last film from the previous page
+     * @param limit maximum amount of films in the page
+     * @return ids of films in ascending order
+     */
+    @Query("SELECT film.id FROM Film film WHERE film.id > :id ORDER BY film.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Limit limit);
+
+    /** Function to get version of the film, sum of versions of its directors
+     * and version of its reviews without loading entities.
+     *
+     * @param id id of the film
+     * @return versions, empty if there is no such film
+     */
+    @Query("SELECT film.version, COALESCE(SUM(director.version), 0), film.reviewsVersion "
+            + "FROM Film film LEFT JOIN film.directors director WHERE film.id = :id "
+            + "GROUP BY film.id, film.version, film.reviewsVersion")
+    List<Object[]> findVersionsById(@Param("id") Long id);
+
+    /** Function to get version of the film and version of its reviews without loading entity.
+     *
+     * @param id id of the film
+     * @return pair of versions, empty if there is no such film
+     */
+    @Query("SELECT film.version, film.reviewsVersion FROM Film film WHERE film.id = :id")
+    List<Object[]> findReviewVersionsById(@Param("id") Long id);
+
+    /** Function to increase version of the film reviews after change of them.
+     * Version of the film is not changed, so updates of the film that run at the same
+     * time pass version check. Row stays locked until end of transaction.
+     *
+     * @param id id of the film
+     * @return amount of updated rows
+     */
+    @Modifying
+    @Query("UPDATE Film film SET film.reviewsVersion = film.reviewsVersion + 1 "
+            + "WHERE film.id = :id")
+    int incrementReviewsVersion(@Param("id") Long id);
+}
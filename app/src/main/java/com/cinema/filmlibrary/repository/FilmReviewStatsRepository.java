@@ -0,0 +1,108 @@
+package com.cinema.filmlibrary.repository;
+
+import com.cinema.filmlibrary.entity.FilmReviewStats;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** Class that represents database containing review statistics of films. */
+@Repository
+public interface FilmReviewStatsRepository extends JpaRepository<FilmReviewStats, Long> {
+
+    /** Function to get statistics of the film locked until end of the transaction.
+     *
+     * @param filmId id of the film
+     * @return statistics of the film
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT stats FROM FilmReviewStats stats WHERE stats.filmId = :filmId")
+    Optional<FilmReviewStats> findForUpdate(@Param("filmId") Long filmId);
+
+    /** Function to create empty statistics of the film unless they exist.
+     * Concurrent calls for the same film wait for each other instead of failing
+     * on the primary key. Histogram has one zero for every rating from 1 to 10.
+     * ON CONFLICT with the column is PostgreSQL only, other databases use insert
+     * through UniqueRowInserter.
+     *
+     * @param filmId id of the film
+     * @return 1 if statistics were created, 0 if they already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO film_review_stats"
+            + " (film_id, review_count, rating_sum, average_rating, histogram, version)"
+            + " VALUES (:filmId, 0, 0, 0, ARRAY[0, 0, 0, 0, 0, 0, 0, 0, 0, 0], 0)"
+            + " ON CONFLICT (film_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("filmId") Long filmId);
+
+    /** Function to create empty statistics of the film.
+     * Fails on the primary key if statistics of the film exist.
+     *
+     * @param filmId id of the film
+     * @return 1 if statistics were created
+     */
+    @Modifying
+    @Query(value = "INSERT INTO film_review_stats"
+            + " (film_id, review_count, rating_sum, average_rating, histogram, version)"
+            + " VALUES (:filmId, 0, 0, 0, ARRAY[0, 0, 0, 0, 0, 0, 0, 0, 0, 0], 0)",
+            nativeQuery = true)
+    int insert(@Param("filmId") Long filmId);
+
+    /** Function to get ids of films with amount of reviews greater than reviewCount.
+     *
+     * @param reviewCount amount of reviews
+     * @return ids of films
+     */
+    @Query("SELECT stats.filmId FROM FilmReviewStats stats"
+            + " WHERE stats.reviewCount > :reviewCount")
+    List<Long> findFilmIdsByReviewCountGreaterThan(@Param("reviewCount") long reviewCount);
+
+    /** Function to get statistics of films with the highest average rating.
+     *
+     * @param reviewCount minimum amount of reviews
+     * @param limit maximum amount of films
+     * @return statistics ordered by average rating
+     */
+    List<FilmReviewStats> findByReviewCountGreaterThanEqualOrderByAverageRatingDescFilmIdAsc(
+            long reviewCount, Limit limit);
+
+    /** Function to get statistics of films with the most reviews.
+     *
+     * @param reviewCount minimum amount of reviews
+     * @param limit maximum amount of films
+     * @return statistics ordered by amount of reviews
+     */
+    List<FilmReviewStats> findByReviewCountGreaterThanEqualOrderByReviewCountDescFilmIdAsc(
+            long reviewCount, Limit limit);
+
+    /** Function to get id, title, genre, amount of reviews, average rating and version
+     * of statistics of reviewed films.
+     *
+     * @return list of rows with film ranking data
+     */
+    @Query("SELECT stats.filmId, film.title, film.genre, stats.reviewCount, stats.averageRating,"
+            + " stats.version FROM FilmReviewStats stats JOIN Film film ON film.id = stats.filmId"
+            + " WHERE stats.reviewCount > 0")
+    List<Object[]> findRankings();
+
+    /** Function to get film id and rating of every review.
+     *
+     * @return list of pairs of film id and rating
+     */
+    @Query("SELECT review.film.id, review.rating FROM Review review")
+    List<Object[]> findAllRatings();
+
+    /** Function to delete statistics of the film.
+     *
+     * @param filmId id of the film
+     */
+    @Modifying
+    @Query("DELETE FROM FilmReviewStats stats WHERE stats.filmId = :filmId")
+    void deleteByFilmId(@Param("filmId") Long filmId);
+}
@@ -0,0 +1,80 @@
+package com.cinema.filmlibrary.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.Set;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/** Class to perform asynchronous actions with logs. */
+@Service
+public class AsyncLogService {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private final LogExtractor logExtractor;
+    private final LogTaskRegistry logTaskRegistry;
+
+    /** Constructor of the class. */
+    public AsyncLogService(LogExtractor logExtractor, LogTaskRegistry logTaskRegistry) {
+        this.logExtractor = logExtractor;
+        this.logTaskRegistry = logTaskRegistry;
+    }
+
+    /** Function to write logs of the date range to temporary file.
+     *
+     * @param taskId id of the task
+     * @param from first date of the range
+     * @param to last date of the range
+     */
+    @Async("taskExecutor")
+    public void createLogs(Long taskId, LocalDate from, LocalDate to) {
+        Path logFile = null;
+        try {
+            // Безопасное создание временного файла с ограниченными правами
+            Set<PosixFilePermission> permissions = EnumSet.of(
+                    PosixFilePermission.OWNER_READ,
+                    PosixFilePermission.OWNER_WRITE
+            );
+            FileAttribute<Set<PosixFilePermission>> fileAttributes =
+                    PosixFilePermissions.asFileAttribute(permissions);
+
+            String range = from.equals(to) ? from.format(FORMATTER)
+                    : from.format(FORMATTER) + "_" + to.format(FORMATTER);
+            logFile = Files.createTempFile(
+                    "logs-" + range,
+                    ".log",
+                    fileAttributes
+            );
+
+            if (logExtractor.extract(from, to, logFile) == 0) {
+                Files.deleteIfExists(logFile);
+                logTaskRegistry.fail(taskId, "No logs for date: " + range);
+                return;
+            }
+
+            logTaskRegistry.complete(taskId, logFile);
+
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(logFile);
+            logTaskRegistry.fail(taskId, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // file stays in temp directory until exit
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.cinema.filmlibrary.service;
+
+import com.cinema.filmlibrary.dto.ChangeBatchDto;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Class to hold clients that wait for changes and pass new changes to them.
+ * Number of the last change is checked periodically while someone waits, so changes
+ * committed by any instance are delivered. Long-polling clients get one batch and
+ * are answered, stream clients get batches until they disconnect. Clients that wait
+ * for changes after the same number share one query. Changes are read on the scheduler
+ * thread and sent on a separate executor, one task per client at a time, so a slow
+ * client does not delay others. Streams that get no changes receive heartbeat comments,
+ * so proxies do not close idle connections and closed ones are found out.
+ */
+@Component
+public class ChangeFeedPublisher {
+    private static final String EVENT_NAME = "changes";
+    private static final String HEARTBEAT = "heartbeat";
+    private static final int MAX_BATCHES_PER_CHECK = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(ChangeFeedPublisher.class);
+    private final ChangeFeedService changeFeedService;
+    private final Executor executor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Duration pollTimeout;
+    private final Duration streamTimeout;
+    private final Duration heartbeatInterval;
+
+    /** Constructor of the class.
+     *
+     * @param changeFeedService service to read changes
+     * @param executor executor that sends changes to clients
+     * @param pollTimeout time to wait for changes before empty batch is returned
+     * @param streamTimeout time after which stream is closed and has to be resumed
+     * @param heartbeatInterval time without events after which stream gets heartbeat
+     */
+    public ChangeFeedPublisher(ChangeFeedService changeFeedService,
+                               @Qualifier("changeFeedExecutor") Executor executor,
+                               @Value("${app.changes.poll-timeout:30s}") Duration pollTimeout,
+                               @Value("${app.changes.stream-timeout:30m}")
+                               Duration streamTimeout,
+                               @Value("${app.changes.heartbeat-interval:15s}")
+                               Duration heartbeatInterval) {
+        this.changeFeedService = changeFeedService;
+        this.executor = executor;
+        this.pollTimeout = pollTimeout;
+        this.streamTimeout = streamTimeout;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /** Function to get changes after specified number or wait until they are committed.
+     * If there are no changes until timeout the batch is empty.
+     *
+     * @param since number of the last known change
+     * @param limit maximum amount of changes
+     * @return result completed with batch of changes
+     */
+    public DeferredResult<ChangeBatchDto> poll(long since, int limit) {
+        ChangeBatchDto batch = changeFeedService.findAfter(since, limit);
+        DeferredResult<ChangeBatchDto> result = new DeferredResult<>(pollTimeout.toMillis(),
+                () -> new ChangeBatchDto(List.of(), since));
+        if (!batch.getEvents().isEmpty()) {
+            result.setResult(batch);
+            return result;
+        }
+
+        Subscriber subscriber = new Subscriber(since, limit, false, result::setResult,
+                null, result::setErrorResult);
+        result.onCompletion(() -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return result;
+    }
+
+    /** Function to stream batches of changes after specified number as server-sent events.
+     * Id of every event is the number to resume the stream after.
+     *
+     * @param since number of the last known change
+     * @param limit maximum amount of changes in one event
+     * @return emitter of the stream
+     */
+    public SseEmitter stream(long since, int limit) {
+        changeFeedService.validate(since, limit);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(since, limit, true,
+                batch -> send(emitter, SseEmitter.event()
+                        .id(String.valueOf(batch.getNext()))
+                        .name(EVENT_NAME)
+                        .data(batch, MediaType.APPLICATION_JSON)),
+                () -> send(emitter, SseEmitter.event().comment(HEARTBEAT)),
+                emitter::completeWithError);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /** Function to pass committed changes to waiting clients.
+     * Clients whose previous changes are still being sent are skipped
+     * and get the following changes on the next check, clients far behind
+     * get a limited amount of batches per check.
+     */
+    @Scheduled(fixedDelayString = "${app.changes.check-interval-ms:250}")
+    public void dispatch() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long latest = changeFeedService.latestSeq();
+        long now = System.nanoTime();
+        Map<String, ChangeBatchDto> batches = new HashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.sending.compareAndSet(false, true)) {
+                continue;
+            }
+            List<ChangeBatchDto> pending = new ArrayList<>();
+            try {
+                long position = subscriber.position;
+                while (position < latest && pending.size() < MAX_BATCHES_PER_CHECK) {
+                    long from = position;
+                    ChangeBatchDto batch = batches.computeIfAbsent(
+                            from + ":" + subscriber.limit,
+                            key -> changeFeedService.findAfter(from, subscriber.limit));
+                    if (batch.getEvents().isEmpty()) {
+                        break;
+                    }
+                    pending.add(batch);
+                    position = batch.getNext();
+                    if (!subscriber.continuous) {
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Changes after {} cannot be delivered: {}",
+                        subscriber.position, e.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.failure.accept(e);
+                continue;
+            }
+            boolean heartbeat = pending.isEmpty() && subscriber.heartbeat != null
+                    && now - subscriber.lastSent >= heartbeatInterval.toNanos();
+            if (pending.isEmpty() && !heartbeat) {
+                subscriber.sending.set(false);
+                continue;
+            }
+            try {
+                executor.execute(() -> deliver(subscriber, pending));
+                subscriber.lastSent = now;
+            } catch (RuntimeException e) {
+                subscriber.sending.set(false);
+                logger.warn("Changes after {} cannot be sent now: {}",
+                        subscriber.position, e.getMessage());
+            }
+        }
+    }
+
+    private void deliver(Subscriber subscriber, List<ChangeBatchDto> batches) {
+        try {
+            if (batches.isEmpty()) {
+                if (!subscriber.heartbeat.getAsBoolean()) {
+                    subscribers.remove(subscriber);
+                }
+                return;
+            }
+            for (ChangeBatchDto batch : batches) {
+                if (!subscriber.consumer.test(batch) || !subscriber.continuous) {
+                    subscribers.remove(subscriber);
+                    return;
+                }
+                subscriber.position = batch.getNext();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Changes after {} cannot be delivered: {}",
+                    subscriber.position, e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.failure.accept(e);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private static boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private static final class Subscriber {
+        private final int limit;
+        private final boolean continuous;
+        private final Predicate<ChangeBatchDto> consumer;
+        private final BooleanSupplier heartbeat;
+        private final Consumer<RuntimeException> failure;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long position;
+        private long lastSent = System.nanoTime();
+
+        private Subscriber(long position, int limit, boolean continuous,
+                           Predicate<ChangeBatchDto> consumer, BooleanSupplier heartbeat,
+                           Consumer<RuntimeException> failure) {
+            this.position = position;
+            this.limit = limit;
+            this.continuous = continuous;
+            this.consumer = consumer;
+            this.heartbeat = heartbeat;
+            this.failure = failure;
+        }
+    }
+}
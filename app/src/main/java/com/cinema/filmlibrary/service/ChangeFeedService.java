@@ -0,0 +1,195 @@
+package com.cinema.filmlibrary.service;
+
+import com.cinema.filmlibrary.dto.ChangeBatchDto;
+import com.cinema.filmlibrary.dto.ChangeEventDto;
+import com.cinema.filmlibrary.entity.CatalogVersion;
+import com.cinema.filmlibrary.entity.ChangeEvent;
+import com.cinema.filmlibrary.exception.InvalidRequestException;
+import com.cinema.filmlibrary.exception.ResponseStatusException;
+import com.cinema.filmlibrary.repository.CatalogVersionRepository;
+import com.cinema.filmlibrary.repository.ChangeEventRepository;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Class to write changes of films, directors and reviews to the outbox and read them back.
+ * Changes recorded during a transaction are written right before it commits. Changed rows
+ * are flushed first, then the catalog version row is locked and increased by the amount
+ * of changes, and its new value numbers them. The lock is held until commit, so numbers
+ * follow the order of commits on every instance and a reader never sees a number that
+ * is followed by a smaller one committed later.
+ * The price is that commits of all writes that record changes go one at a time: each
+ * waits for the lock only during its flush and commit, not during the rest of
+ * the transaction, so write throughput is bounded by the commit latency of the database.
+ * The "review" operation of the load test in the benchmarks module measures it.
+ */
+@Service
+public class ChangeFeedService {
+    public static final int MAX_LIMIT = 1000;
+
+    private final ChangeEventRepository changeEventRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final EntityManager entityManager;
+    private final Duration retention;
+
+    /** Constructor of the class. */
+    public ChangeFeedService(ChangeEventRepository changeEventRepository,
+                             CatalogVersionRepository catalogVersionRepository,
+                             EntityManager entityManager,
+                             @Value("${app.changes.retention:7d}") Duration retention) {
+        this.changeEventRepository = changeEventRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.entityManager = entityManager;
+        this.retention = retention;
+    }
+
+    /** Function to record change, it is written when the current transaction commits.
+     * The same change recorded twice in one transaction is written once.
+     *
+     * @param entityType kind of changed object
+     * @param operation kind of the change
+     * @param entityId id of changed object
+     * @param filmId id of the film the object belongs to
+     */
+    public void record(ChangeEvent.EntityType entityType, ChangeEvent.Operation operation,
+                       Long entityId, Long filmId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Changes can be recorded only in transaction");
+        }
+        pendingChanges().changes.add(new PendingChange(entityType, operation, entityId, filmId));
+    }
+
+    /** Function to get changes that follow specified number.
+     *
+     * @param since number of the last known change
+     * @param limit maximum amount of changes
+     * @return changes and number to request the next batch after
+     */
+    @Transactional(readOnly = true)
+    public ChangeBatchDto findAfter(long since, int limit) {
+        validate(since, limit);
+        List<ChangeEventDto> events = changeEventRepository.findAfter(since, Limit.of(limit))
+                .stream()
+                .map(ChangeFeedService::toDto)
+                .toList();
+        long next = events.isEmpty() ? since : events.get(events.size() - 1).getSeq();
+        return new ChangeBatchDto(events, next);
+    }
+
+    /** Function to check that changes after specified number can be read.
+     * Changes are kept from the oldest stored one on, so numbers before it are gone.
+     * Database that was used before the feed was added has catalog version but no
+     * changes, so there only numbers from the version at the upgrade on are valid
+     * and clients start from the number returned by latestSeq.
+     *
+     * @param since number of the last known change
+     * @param limit maximum amount of changes
+     */
+    @Transactional(readOnly = true)
+    public void validate(long since, int limit) {
+        if (since < 0) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Since parameter cannot be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (since >= latestSeq()) {
+            return;
+        }
+        Long first = changeEventRepository.findFirstSeq();
+        if (first == null || since < first - 1) {
+            throw new ResponseStatusException(HttpStatus.GONE,
+                    "Changes after " + since + " are not kept anymore, reload all films"
+                            + " and follow changes from " + latestSeq());
+        }
+    }
+
+    /** Function to get number of the last committed change.
+     *
+     * @return number of the change, 0 if there were no changes
+     */
+    @Transactional(readOnly = true)
+    public long latestSeq() {
+        return catalogVersionRepository.findVersionById(CatalogVersion.ID).orElse(0L);
+    }
+
+    /** Function to delete changes older than retention period.
+     * Changes are deleted by number up to the last one older than retention, so the kept
+     * changes have no gaps even if clocks of instances that wrote them differ.
+     */
+    @Scheduled(fixedDelayString = "${app.changes.purge-interval-ms:3600000}")
+    @Transactional
+    public void purge() {
+        Long last = changeEventRepository.findLastSeqCreatedBefore(
+                Instant.now().minus(retention));
+        if (last != null) {
+            changeEventRepository.deleteUpTo(last);
+        }
+    }
+
+    private PendingChanges pendingChanges() {
+        for (TransactionSynchronization synchronization
+                : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        PendingChanges pending = new PendingChanges();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void write(Set<PendingChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        if (catalogVersionRepository.increment(CatalogVersion.ID, changes.size()) == 0) {
+            catalogVersionRepository.saveAndFlush(new CatalogVersion(CatalogVersion.ID));
+            catalogVersionRepository.increment(CatalogVersion.ID, changes.size());
+        }
+        long seq = latestSeq() - changes.size();
+        Instant now = Instant.now();
+        for (PendingChange change : changes) {
+            entityManager.persist(new ChangeEvent(++seq, change.entityType(),
+                    change.operation(), change.entityId(), change.filmId(), now));
+        }
+        entityManager.flush();
+    }
+
+    private static ChangeEventDto toDto(ChangeEvent event) {
+        return new ChangeEventDto(event.getSeq(), event.getEntityType().name(),
+                event.getOperation().name(), event.getEntityId(), event.getFilmId(),
+                event.getCreatedAt());
+    }
+
+    private record PendingChange(ChangeEvent.EntityType entityType,
+                                 ChangeEvent.Operation operation, Long entityId, Long filmId) {
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+        private final Set<PendingChange> changes = new LinkedHashSet<>();
+
+        private ChangeFeedService owner() {
+            return ChangeFeedService.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(changes);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.cinema.filmlibrary.service;
+
+import com.cinema.filmlibrary.entity.ChangeEvent;
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.index.DirectorNameIndex;
+import com.cinema.filmlibrary.repository.DirectorRepository;
+import com.cinema.filmlibrary.utils.NameUtil;
+import com.cinema.filmlibrary.utils.TransactionUtil;
+import jakarta.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Class to find the stored director with the same name or save the new one.
+ * Names are compared regardless of case and accents. Known names are resolved
+ * from the in-memory index by primary key, the database is asked by the indexed
+ * normalized name only for names created by other instances or not committed yet.
+ * Normalized names are unique in database, a new director is inserted only if its
+ * name is free, so concurrent requests with the same new name get one director.
+ */
+@Service
+public class DirectorResolver {
+    private final Logger logger = LoggerFactory.getLogger(DirectorResolver.class);
+
+    private final DirectorRepository directorRepository;
+    private final DirectorNameIndex directorNameIndex;
+    private final EntityManager entityManager;
+    private final ChangeFeedService changeFeedService;
+    private final UniqueRowInserter uniqueRowInserter;
+
+    /** Constructor of the class. */
+    public DirectorResolver(DirectorRepository directorRepository,
+                            DirectorNameIndex directorNameIndex,
+                            EntityManager entityManager,
+                            ChangeFeedService changeFeedService,
+                            UniqueRowInserter uniqueRowInserter) {
+        this.directorRepository = directorRepository;
+        this.directorNameIndex = directorNameIndex;
+        this.entityManager = entityManager;
+        this.changeFeedService = changeFeedService;
+        this.uniqueRowInserter = uniqueRowInserter;
+    }
+
+    /** Function to fill lookup keys of directors saved before they were introduced. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional
+    public void fillMissingKeys() {
+        List<Director> directors = directorRepository.findByNameKeyIsNull();
+        if (directors.isEmpty()) {
+            return;
+        }
+        Set<String> keys = directors.stream().map(director -> NameUtil.normalize(director.getName()))
+                .collect(Collectors.toSet());
+        Map<String, Long> taken = new HashMap<>();
+        directorRepository.findByNameKeyIn(keys).forEach(director ->
+                taken.put(director.getNameKey(), director.getId()));
+        for (Director director : directors) {
+            String key = NameUtil.normalize(director.getName());
+            Long other = taken.putIfAbsent(key, director.getId());
+            if (other == null) {
+                director.setNameKey(key);
+            } else {
+                // Key is unique, duplicates are merged by db/director-name-key-unique.sql
+                logger.warn("Director {} has the same name as director {}, it is not looked up"
+                        + " by name", director.getId(), other);
+            }
+        }
+    }
+
+    /** Function to get the stored director with the name of the given one.
+     * If there is no such director a new one is saved with data of the given one.
+     *
+     * @param director director with name and other data for the new director
+     * @return managed director
+     */
+    @Transactional
+    public Director resolveOrCreate(Director director) {
+        Long id = directorNameIndex.find(director.getName());
+        if (id != null) {
+            Director existing = entityManager.find(Director.class, id);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        String key = NameUtil.normalize(director.getName());
+        Director existing = directorRepository.findFirstByNameKey(key).orElse(null);
+        if (existing != null) {
+            directorNameIndex.put(existing.getId(), existing.getName());
+            return existing;
+        }
+
+        // Waits for a concurrent transaction saving the same name and then reads its director
+        boolean created = uniqueRowInserter.insertIfAbsent(
+                () -> directorRepository.insertIfAbsent(director.getName(),
+                        director.getNationality(), director.getBirthYear(), key),
+                () -> directorRepository.insert(director.getName(),
+                        director.getNationality(), director.getBirthYear(), key));
+        Director saved = directorRepository.findFirstByNameKey(key).orElseThrow();
+        if (created) {
+            changeFeedService.record(ChangeEvent.EntityType.DIRECTOR,
+                    ChangeEvent.Operation.CREATED, saved.getId(), null);
+        }
+        TransactionUtil.afterCommit(() -> directorNameIndex.put(saved.getId(), saved.getName()));
+        return saved;
+    }
+}
@@ -0,0 +1,284 @@
+package com.cinema.filmlibrary.service;
+
+import com.cinema.filmlibrary.cache.FilmCacheInvalidator;
+import com.cinema.filmlibrary.config.CacheConfig;
+import com.cinema.filmlibrary.dto.DirectorDto;
+import com.cinema.filmlibrary.dto.TaggedDto;
+import com.cinema.filmlibrary.entity.ChangeEvent;
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.exception.ForbiddenAccessException;
+import com.cinema.filmlibrary.exception.InvalidRequestException;
+import com.cinema.filmlibrary.exception.ResourceNotFoundException;
+import com.cinema.filmlibrary.exception.ResponseStatusException;
+import com.cinema.filmlibrary.index.DirectorNameIndex;
+import com.cinema.filmlibrary.index.FilmFacetIndex;
+import com.cinema.filmlibrary.mapper.DirectorMapper;
+import com.cinema.filmlibrary.repository.DirectorRepository;
+import com.cinema.filmlibrary.repository.FilmRepository;
+import com.cinema.filmlibrary.utils.NameUtil;
+import com.cinema.filmlibrary.utils.TransactionUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Some code here. */
+@Service
+public class DirectorService {
+    public static final String DIRECTORS_TAG = "directors";
+
+    private static final String ERROR_MESSAGE = "Director not found";
+    private static final String FORBIDDEN_MESSAGE = "Access to this operation is forbidden";
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_NAME_DISTANCE = 2;
+
+    private final DirectorRepository directorRepository;
+    private final FilmService filmService;
+    private final FilmRepository filmRepository;
+    private final FilmCacheInvalidator filmCacheInvalidator;
+    private final FilmFacetIndex filmFacetIndex;
+    private final DirectorNameIndex directorNameIndex;
+    private final DirectorResolver directorResolver;
+    private final DirectorMapper directorMapper;
+    private final ChangeFeedService changeFeedService;
+    private final EntityTagService entityTagService;
+
+    /** Some code here. */
+    public DirectorService(DirectorRepository directorRepository,
+                           FilmService filmService,
+                           FilmRepository filmRepository,
+                           FilmCacheInvalidator filmCacheInvalidator,
+                           FilmFacetIndex filmFacetIndex,
+                           DirectorNameIndex directorNameIndex,
+                           DirectorResolver directorResolver,
+                           DirectorMapper directorMapper,
+                           ChangeFeedService changeFeedService,
+                           EntityTagService entityTagService) {
+        this.directorRepository = directorRepository;
+        this.filmService = filmService;
+        this.filmRepository = filmRepository;
+        this.filmCacheInvalidator = filmCacheInvalidator;
+        this.filmFacetIndex = filmFacetIndex;
+        this.directorNameIndex = directorNameIndex;
+        this.directorResolver = directorResolver;
+        this.directorMapper = directorMapper;
+        this.changeFeedService = changeFeedService;
+        this.entityTagService = entityTagService;
+    }
+
+    /** Some code here. */
+    @Cacheable(value = CacheConfig.DIRECTORS_CACHE, key = "#id")
+    public Director findById(Long id, Long filmId) {
+        if (filmId == null) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "filmId cannot be null");
+        }
+
+        Film film = filmService.findById(filmId);
+        Director director = directorRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(HttpStatus.NOT_FOUND,
+                        ERROR_MESSAGE));
+
+        if (!film.getDirectors().contains(director)) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND,
+                    ERROR_MESSAGE);
+        }
+
+        return director;
+    }
+
+    /** Function to get all directors.
+     * Tag of the catalog is read before them and is cached with them.
+     *
+     * @return all directors with their tag
+     */
+    @Cacheable(CacheConfig.DIRECTORS_CACHE)
+    public TaggedDto<List<Director>> findAllDirectors() {
+        try {
+            String tag = entityTagService.catalogTag(DIRECTORS_TAG);
+            return new TaggedDto<>(tag, directorRepository.findAll());
+        } catch (Exception e) {
+            throw new ForbiddenAccessException(HttpStatus.FORBIDDEN, FORBIDDEN_MESSAGE);
+        }
+    }
+
+    /** Some code here. */
+    @Transactional
+    public Director save(Director director, Long filmId) {
+        validateDirector(director);
+        Film film = filmService.findById(filmId);
+
+        Director resolved = directorResolver.resolveOrCreate(director);
+        List<Film> newFilms = resolved.getFilms() == null
+                ? new ArrayList<>() : resolved.getFilms();
+
+        List<Director> directors = film.getDirectors();
+        if (!directors.contains(resolved)) {
+            directors.add(resolved);
+            film.setDirectors(directors);
+            newFilms.add(film);
+            resolved.setFilms(newFilms);
+        }
+
+        Director savedDirector = directorRepository.save(resolved);
+        changeFeedService.record(ChangeEvent.EntityType.FILM, ChangeEvent.Operation.UPDATED,
+                filmId, filmId);
+        TransactionUtil.afterCommit(() -> filmFacetIndex.addDirector(filmId,
+                savedDirector.getId(), savedDirector.getName()));
+        filmCacheInvalidator.directorChanged(savedDirector.getId(),
+                filmIds(savedDirector.getFilms()), List.of(savedDirector.getName()));
+        return savedDirector;
+    }
+
+    /** Function to update name, nationality and birth year of the director.
+     * Changes are applied to the stored director, so its version guards them: the
+     * update fails with 412 if the client sent another version and with 409 if the
+     * director is changed before this update is saved.
+     *
+     * @param id id of the director
+     * @param director new data of the director, version is optional
+     * @return updated director
+     */
+    @Transactional
+    public Director update(Long id, Director director) {
+        if (id == null) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Id parameter cannot be empty");
+        }
+        if (director == null) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Director cannot be null");
+        }
+        Director existingDirector = directorRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(HttpStatus.NOT_FOUND,
+                        ERROR_MESSAGE));
+        List<Long> filmIds = filmIds(existingDirector.getFilms());
+        String previousName = existingDirector.getName();
+        directorRepository.findFirstByNameKey(NameUtil.normalize(director.getName()))
+                .filter(other -> !other.getId().equals(id))
+                .ifPresent(other -> {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Director with this name already exists");
+                });
+
+        if (director.getVersion() != null
+                && !director.getVersion().equals(existingDirector.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "Director was changed by another request");
+        }
+        existingDirector.setName(director.getName());
+        existingDirector.setNationality(director.getNationality());
+        existingDirector.setBirthYear(director.getBirthYear());
+        Director savedDirector = directorRepository.saveAndFlush(existingDirector);
+        changeFeedService.record(ChangeEvent.EntityType.DIRECTOR, ChangeEvent.Operation.UPDATED,
+                id, null);
+        filmIds.forEach(filmId -> changeFeedService.record(ChangeEvent.EntityType.FILM,
+                ChangeEvent.Operation.UPDATED, filmId, filmId));
+        TransactionUtil.afterCommit(() -> {
+            directorNameIndex.put(id, savedDirector.getName());
+            filmFacetIndex.renameDirector(id, savedDirector.getName());
+        });
+        filmCacheInvalidator.directorChanged(id, filmIds,
+                Arrays.asList(previousName, savedDirector.getName()));
+        return savedDirector;
+    }
+
+    /** Some code here. */
+    @Transactional
+    public void delete(Long id, Long filmId) {
+        if (filmId == null) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "filmId cannot be null");
+        }
+
+        Film film = filmService.findById(filmId);
+        Director director = directorRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(HttpStatus.NOT_FOUND,
+                        ERROR_MESSAGE));
+
+        if (!film.getDirectors().contains(director)) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND,
+                    ERROR_MESSAGE);
+        }
+
+        // Remove director from film
+        List<Director> directors = film.getDirectors();
+        directors.remove(director);
+        film.setDirectors(directors);
+        filmService.update(filmId, film);
+
+        // Remove film from director
+        List<Film> films = director.getFilms();
+        List<Long> filmIds = filmIds(films);
+        films.remove(film);
+        filmCacheInvalidator.directorChanged(id, filmIds, List.of(director.getName()));
+
+        if (films.isEmpty()) {
+            directorRepository.delete(director);
+            changeFeedService.record(ChangeEvent.EntityType.DIRECTOR,
+                    ChangeEvent.Operation.DELETED, id, filmId);
+            TransactionUtil.afterCommit(() -> directorNameIndex.remove(id));
+        } else {
+            director.setFilms(films);
+            directorRepository.save(director);
+        }
+    }
+
+    /** Function to find directors by beginning of the name or by name with typos.
+     * Names are compared regardless of case and accents, directors whose names
+     * start with the text go first.
+     *
+     * @param name beginning or misspelled name of the director
+     * @param limit maximum amount of directors
+     * @return found directors
+     */
+    @Transactional(readOnly = true)
+    public List<DirectorDto> searchByName(String name, int limit) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Name parameter cannot be empty");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        List<Long> ids = directorNameIndex.search(name, MAX_NAME_DISTANCE, limit);
+        Map<Long, Director> directors = new HashMap<>();
+        directorRepository.findAllById(ids).forEach(director ->
+                directors.put(director.getId(), director));
+        return ids.stream()
+                .map(directors::get)
+                .filter(Objects::nonNull)
+                .map(directorMapper::toDto)
+                .toList();
+    }
+
+    private static List<Long> filmIds(List<Film> films) {
+        if (films == null) {
+            return List.of();
+        }
+        return films.stream().map(Film::getId).toList();
+    }
+
+    private void validateDirector(Director director) {
+        if (director.getName() == null || director.getName().trim().isEmpty()) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Name parameter cannot be empty");
+        }
+        if (director.getNationality() == null || director.getNationality().trim().isEmpty()) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Nationality parameter cannot be empty");
+        }
+        if (director.getBirthYear() > 2025 || director.getBirthYear() < 1925) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Birth year must be between 1925 and 2025");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.cinema.filmlibrary.service;
+
+import com.cinema.filmlibrary.entity.CatalogVersion;
+import com.cinema.filmlibrary.repository.CatalogVersionRepository;
+import com.cinema.filmlibrary.repository.FilmRepository;
+import java.util.List;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Class to build strong ETags of read endpoints from versions stored in database.
+ * Film tag consists of the film version, which grows with changes of the film and
+ * its directors list, of the sum of versions of its directors and of the version of
+ * its reviews. Reviews have their own version, so adding a review does not change
+ * the film version and does not fail updates of the film. Lists of all films and
+ * directors use version of the whole catalog, which is the number of the last change
+ * written by ChangeFeedService. Tags are read with scalar queries, so unchanged
+ * resources are answered without loading entities. Cached responses keep the tag
+ * they were read with and are sent with it, the current tag is only used to find
+ * out that the client already has the current version.
+ */
+@Service
+public class EntityTagService {
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final FilmRepository filmRepository;
+
+    /** Constructor of the class. */
+    public EntityTagService(CatalogVersionRepository catalogVersionRepository,
+                            FilmRepository filmRepository) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.filmRepository = filmRepository;
+    }
+
+    /** Function to create row with version of the catalog if there is none yet. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void createCatalogVersion() {
+        if (catalogVersionRepository.existsById(CatalogVersion.ID)) {
+            return;
+        }
+        try {
+            catalogVersionRepository.saveAndFlush(new CatalogVersion(CatalogVersion.ID));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance has created the row at the same time
+        }
+    }
+
+    /** Function to get tag of the film with its directors and reviews.
+     *
+     * @param filmId id of the film
+     * @return tag of the film or null if there is no such film
+     */
+    @Transactional(readOnly = true)
+    public String filmTag(Long filmId) {
+        if (filmId == null || filmId <= 0) {
+            return null;
+        }
+        List<Object[]> versions = filmRepository.findVersionsById(filmId);
+        if (versions.isEmpty()) {
+            return null;
+        }
+        Object[] row = versions.get(0);
+        return tag("film-" + filmId + "-" + row[0] + "." + row[1] + "." + row[2]);
+    }
+
+    /** Function to get tag of reviews of the film.
+     *
+     * @param filmId id of the film
+     * @return tag of reviews or null if there is no such film
+     */
+    @Transactional(readOnly = true)
+    public String reviewsTag(Long filmId) {
+        if (filmId == null || filmId <= 0) {
+            return null;
+        }
+        List<Object[]> versions = filmRepository.findReviewVersionsById(filmId);
+        if (versions.isEmpty()) {
+            return null;
+        }
+        Object[] row = versions.get(0);
+        return tag("reviews-" + filmId + "-" + row[0] + "." + row[1]);
+    }
+
+    /** Function to get tag of lists built from the whole catalog.
+     *
+     * @param name name of the list
+     * @return tag of the list or null if version of the catalog is not created yet
+     */
+    @Transactional(readOnly = true)
+    public String catalogTag(String name) {
+        return catalogVersionRepository.findVersionById(CatalogVersion.ID)
+                .map(version -> tag(name + "-" + version))
+                .orElse(null);
+    }
+
+    /** Function to check whether the client already has the version with the tag.
+     * Unlike WebRequest.checkNotModified it does not set ETag of the response,
+     * so the response that is sent can carry the tag of the cached data.
+     *
+     * @param ifNoneMatch If-None-Match header of the request
+     * @param tag current tag of the resource
+     * @return true if one of the tags of the request is the current one
+     */
+    public boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null || tag == null) {
+            return false;
+        }
+        for (String value : ifNoneMatch.split(",")) {
+            String requested = value.trim();
+            if (requested.equals("*") || requested.equals(tag)
+                    || requested.equals("W/" + tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Function to change tags of the film and its reviews after change of film reviews.
+     *
+     * @param filmId id of the film
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewsChanged(Long filmId) {
+        filmRepository.incrementReviewsVersion(filmId);
+    }
+
+    private static String tag(String value) {
+        return "\"" + value + "\"";
+    }
+}
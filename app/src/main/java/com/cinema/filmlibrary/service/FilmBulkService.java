@@ -0,0 +1,203 @@
+package com.cinema.filmlibrary.service;
+
+import com.cinema.filmlibrary.dto.FilmBulkResult;
+import com.cinema.filmlibrary.entity.ChangeEvent;
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.entity.Review;
+import com.cinema.filmlibrary.exception.InvalidRequestException;
+import com.cinema.filmlibrary.index.DirectorNameIndex;
+import com.cinema.filmlibrary.index.FilmFacetIndex;
+import com.cinema.filmlibrary.index.FilmTitleIndex;
+import com.cinema.filmlibrary.repository.DirectorRepository;
+import com.cinema.filmlibrary.utils.NameUtil;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Class to save big amount of films with batched inserts. */
+@Service
+public class FilmBulkService {
+    private static final String CHUNK_FAILED_MESSAGE =
+            "Chunk was rolled back because it could not be saved";
+
+    private final Logger logger = LoggerFactory.getLogger(FilmBulkService.class);
+
+    private final FilmService filmService;
+    private final DirectorRepository directorRepository;
+    private final DirectorResolver directorResolver;
+    private final FilmTitleIndex filmTitleIndex;
+    private final FilmFacetIndex filmFacetIndex;
+    private final DirectorNameIndex directorNameIndex;
+    private final ReviewStatsService reviewStatsService;
+    private final ChangeFeedService changeFeedService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    /** Constructor of the class. */
+    public FilmBulkService(FilmService filmService,
+                           DirectorRepository directorRepository,
+                           DirectorResolver directorResolver,
+                           FilmTitleIndex filmTitleIndex,
+                           FilmFacetIndex filmFacetIndex,
+                           DirectorNameIndex directorNameIndex,
+                           ReviewStatsService reviewStatsService,
+                           ChangeFeedService changeFeedService,
+                           EntityManager entityManager,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.bulk.chunk-size:500}") int chunkSize) {
+        this.filmService = filmService;
+        this.directorRepository = directorRepository;
+        this.directorResolver = directorResolver;
+        this.filmTitleIndex = filmTitleIndex;
+        this.filmFacetIndex = filmFacetIndex;
+        this.directorNameIndex = directorNameIndex;
+        this.reviewStatsService = reviewStatsService;
+        this.changeFeedService = changeFeedService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /** Function to save list of films.
+     * Films are committed by chunks, every chunk resolves its directors by names
+     * without case and accents with one query and is inserted with JDBC batches.
+     * Directors not found are created by DirectorResolver, so a concurrent request
+     * with the same new name gets the same director instead of failing the chunk.
+     * Invalid films are skipped, if chunk fails all its films are reported as failed
+     * with a generic message and the cause is logged.
+     *
+     * @param films films to save
+     * @return result for every film in the same order as in request
+     */
+    public List<FilmBulkResult> saveAll(List<Film> films) {
+        if (films == null || films.isEmpty()) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Films list cannot be empty");
+        }
+
+        FilmBulkResult[] results = new FilmBulkResult[films.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < films.size(); i++) {
+            Film film = films.get(i);
+            try {
+                filmService.validateFilm(film);
+                validateDirectors(film);
+                validIndexes.add(i);
+            } catch (InvalidRequestException e) {
+                results[i] = failed(i, film, e.getMessage());
+            }
+        }
+
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(from,
+                    Math.min(from + chunkSize, validIndexes.size()));
+            List<Film> chunkFilms = chunk.stream().map(films::get).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveChunk(chunkFilms));
+                for (int index : chunk) {
+                    Film film = films.get(index);
+                    filmTitleIndex.add(film.getId(), film.getTitle());
+                    filmFacetIndex.put(film.getId(), FilmFacetIndex.Facets.of(film));
+                    if (film.getDirectors() != null) {
+                        film.getDirectors().forEach(director ->
+                                directorNameIndex.put(director.getId(), director.getName()));
+                    }
+                    results[index] = new FilmBulkResult(index, film.getId(), film.getTitle(),
+                            FilmBulkResult.Status.CREATED, null);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Chunk of {} films starting at index {} was rolled back",
+                        chunk.size(), chunk.get(0), e);
+                for (int index : chunk) {
+                    results[index] = failed(index, films.get(index), CHUNK_FAILED_MESSAGE);
+                }
+            }
+        }
+
+        filmService.clearCache();
+        return List.of(results);
+    }
+
+    private void saveChunk(List<Film> films) {
+        Set<String> names = new HashSet<>();
+        for (Film film : films) {
+            if (film.getDirectors() != null) {
+                film.getDirectors().forEach(director ->
+                        names.add(NameUtil.normalize(director.getName())));
+            }
+        }
+
+        Map<String, Director> directors = new HashMap<>();
+        if (!names.isEmpty()) {
+            directorRepository.findByNameKeyIn(names).forEach(director ->
+                    directors.putIfAbsent(NameUtil.normalize(director.getName()), director));
+        }
+
+        for (Film film : films) {
+            if (film.getDirectors() != null) {
+                List<Director> resolved = new ArrayList<>();
+                for (Director director : film.getDirectors()) {
+                    String key = NameUtil.normalize(director.getName());
+                    Director existing = directors.get(key);
+                    if (existing == null) {
+                        existing = directorResolver.resolveOrCreate(director);
+                        directors.put(key, existing);
+                    }
+                    if (!resolved.contains(existing)) {
+                        resolved.add(existing);
+                    }
+                }
+                film.setDirectors(resolved);
+            }
+
+            if (film.getReviews() != null) {
+                for (Review review : film.getReviews()) {
+                    review.setId(null);
+                    review.setVersion(null);
+                    review.setFilm(film);
+                }
+            }
+
+            film.setId(null);
+            film.setVersion(null);
+            entityManager.persist(film);
+            reviewStatsService.filmCreated(film);
+            changeFeedService.record(ChangeEvent.EntityType.FILM, ChangeEvent.Operation.CREATED,
+                    film.getId(), film.getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static void validateDirectors(Film film) {
+        if (film.getDirectors() == null) {
+            return;
+        }
+        for (Director director : film.getDirectors()) {
+            if (director == null || director.getName() == null
+                    || director.getName().trim().isEmpty()) {
+                throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                        "Director name cannot be empty");
+            }
+        }
+    }
+
+    private static FilmBulkResult failed(int index, Film film, String error) {
+        return new FilmBulkResult(index, null, film == null ? null : film.getTitle(),
+                FilmBulkResult.Status.FAILED, error);
+    }
+}
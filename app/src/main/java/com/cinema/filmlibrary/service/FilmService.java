@@ -0,0 +1,483 @@
+package com.cinema.filmlibrary.service;
+
+import com.cinema.filmlibrary.cache.FilmCacheInvalidator;
+import com.cinema.filmlibrary.config.CacheConfig;
+import com.cinema.filmlibrary.config.CacheLoaderRegistry;
+import com.cinema.filmlibrary.dto.FilmDto;
+import com.cinema.filmlibrary.dto.FilmSearchDto;
+import com.cinema.filmlibrary.entity.ChangeEvent;
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.entity.FilmReviewStats;
+import com.cinema.filmlibrary.entity.Review;
+import com.cinema.filmlibrary.exception.ForbiddenAccessException;
+import com.cinema.filmlibrary.exception.InvalidRequestException;
+import com.cinema.filmlibrary.exception.ResourceNotFoundException;
+import com.cinema.filmlibrary.exception.ResponseStatusException;
+import com.cinema.filmlibrary.index.FilmFacetIndex;
+import com.cinema.filmlibrary.index.FilmLeaderboard;
+import com.cinema.filmlibrary.index.FilmTitleIndex;
+import com.cinema.filmlibrary.mapper.FilmRowMapper;
+import com.cinema.filmlibrary.projection.FilmRow;
+import com.cinema.filmlibrary.projection.ReviewRow;
+import com.cinema.filmlibrary.repository.FilmRepository;
+import com.cinema.filmlibrary.utils.NameUtil;
+import com.cinema.filmlibrary.utils.TransactionUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Some code here. */
+@Service
+public class FilmService {
+    private static final String ERROR_MESSAGE = "Film not found";
+    private static final String INVALID_REQUEST_MESSAGE = "Invalid request data";
+    private static final String FORBIDDEN_MESSAGE = "Access to this operation is forbidden";
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int STREAM_CHUNK_SIZE = 500;
+    // Keeps IN lists far below 32767 parameters the PostgreSQL driver can bind
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final FilmRepository filmRepository;
+    private final DirectorResolver directorResolver;
+    private final FilmTitleIndex filmTitleIndex;
+    private final FilmLeaderboard filmLeaderboard;
+    private final FilmFacetIndex filmFacetIndex;
+    private final FilmCacheInvalidator filmCacheInvalidator;
+    private final FilmRowMapper filmRowMapper;
+    private final ReviewStatsService reviewStatsService;
+    private final ChangeFeedService changeFeedService;
+    private final EntityTagService entityTagService;
+
+    /** Some code here. */
+    @Autowired
+    public FilmService(FilmRepository filmRepository,
+                       DirectorResolver directorResolver,
+                       FilmTitleIndex filmTitleIndex,
+                       FilmLeaderboard filmLeaderboard,
+                       FilmFacetIndex filmFacetIndex,
+                       FilmCacheInvalidator filmCacheInvalidator,
+                       FilmRowMapper filmRowMapper,
+                       ReviewStatsService reviewStatsService,
+                       ChangeFeedService changeFeedService,
+                       EntityTagService entityTagService,
+                       CacheLoaderRegistry cacheLoaderRegistry) {
+        this.filmRepository = filmRepository;
+        this.directorResolver = directorResolver;
+        this.filmTitleIndex = filmTitleIndex;
+        this.filmLeaderboard = filmLeaderboard;
+        this.filmFacetIndex = filmFacetIndex;
+        this.filmCacheInvalidator = filmCacheInvalidator;
+        this.filmRowMapper = filmRowMapper;
+        this.reviewStatsService = reviewStatsService;
+        this.changeFeedService = changeFeedService;
+        this.entityTagService = entityTagService;
+        cacheLoaderRegistry.register(CacheConfig.FILM_BY_ID_CACHE, id -> loadDto((Long) id));
+        cacheLoaderRegistry.register(CacheConfig.ALL_FILMS_CACHE, key -> loadAllFilms());
+    }
+
+    /** Function to find films whose titles contain substring.
+     *
+     * @param title substring to search in film titles
+     * @param limit maximum amount of films to return
+     * @return FilmDtos ranked by how well title matches
+     */
+    @Cacheable(value = CacheConfig.FILM_BY_TITLE_CACHE, key = "#title + '_' + #limit",
+            sync = true)
+    @Transactional(readOnly = true)
+    public List<FilmDto> findByTitle(String title, int limit) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Title parameter cannot be empty");
+        }
+        if (limit <= 0 || limit > MAX_SEARCH_LIMIT) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
+        List<Long> ids = filmTitleIndex.search(title, limit);
+        return filmRowMapper.inOrderOf(findDtosByIds(ids), ids);
+    }
+
+    /** Function to find films matching all specified filters.
+     * Filters are applied to the in-memory facet index, only the found page
+     * of films is read from database.
+     *
+     * @param title substring of the title or null
+     * @param genre genre of films or null
+     * @param yearFrom first release year or null
+     * @param yearTo last release year or null
+     * @param director name of one of the directors or null
+     * @param minRating minimum average rating or null
+     * @param after id of the last film from the previous page or null
+     * @param limit maximum amount of films in the page
+     * @return page of films ordered by id with amounts of films by genre and decade
+     */
+    @Transactional(readOnly = true)
+    public FilmSearchDto search(String title, String genre, Integer yearFrom, Integer yearTo,
+                                String director, Double minRating, Long after, int limit) {
+        if (limit <= 0 || limit > MAX_SEARCH_LIMIT) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        if (after != null && after < 0) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "After parameter cannot be negative");
+        }
+        if (yearFrom != null && yearTo != null && yearFrom > yearTo) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Year from cannot be greater than year to");
+        }
+        if (minRating != null && (minRating < FilmReviewStats.MIN_RATING
+                || minRating > FilmReviewStats.MAX_RATING)) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Minimum rating must be between " + FilmReviewStats.MIN_RATING
+                            + " and " + FilmReviewStats.MAX_RATING);
+        }
+
+        FilmFacetIndex.Query query = new FilmFacetIndex.Query(blankToNull(genre), yearFrom,
+                yearTo, blankToNull(director), minRating,
+                title == null || title.isBlank() ? null : filmTitleIndex.matching(title));
+        FilmFacetIndex.Result result = filmFacetIndex.search(query,
+                after == null ? 0L : after, limit);
+        return new FilmSearchDto(result.total(), findDtosByIds(result.filmIds()),
+                result.genres(), result.decades());
+    }
+
+    /** Function to get all films.
+     * DTOs are built from two flat queries, so no entities are loaded.
+     * Concurrent callers that miss the cache wait for one of them to load films.
+     *
+     * @return list of FilmDtos ordered by id
+     */
+    @Cacheable(value = CacheConfig.ALL_FILMS_CACHE, sync = true)
+    @Transactional(readOnly = true)
+    public List<FilmDto> findAllFilms() {
+        try {
+            return loadAllFilms();
+        } catch (Exception e) {
+            throw new ForbiddenAccessException(HttpStatus.FORBIDDEN, FORBIDDEN_MESSAGE);
+        }
+    }
+
+    /** Function to read all films from database past the cache of all films.
+     * Used for responses that are cached together with the tag read before them,
+     * so they never get films older than the tag.
+     *
+     * @return list of FilmDtos ordered by id
+     */
+    @Transactional(readOnly = true)
+    public List<FilmDto> readAllFilms() {
+        return loadAllFilms();
+    }
+
+    /** Function to get page of films that follow specified id.
+     *
+     * @param after id of the last film from the previous page
+     * @param limit maximum amount of films in the page
+     * @return FilmDtos ordered by id
+     */
+    @Transactional(readOnly = true)
+    public List<FilmDto> findFilmsAfter(Long after, int limit) {
+        if (after != null && after < 0) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "After parameter cannot be negative");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_LIMIT) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        return findDtosByIds(filmRepository.findIdsAfter(after == null ? 0L : after,
+                Limit.of(limit)));
+    }
+
+    /** Function to pass all films to consumer one by one without loading them all.
+     * Flat rows are read with database cursor and grouped into chunks of films,
+     * reviews are read once per chunk, so memory use does not depend
+     * on the size of the catalog.
+     *
+     * @param consumer action to perform with every film
+     */
+    @Transactional(readOnly = true)
+    public void streamAllFilms(Consumer<FilmDto> consumer) {
+        try (Stream<FilmRow> rows = filmRepository.streamAllRows()) {
+            List<FilmRow> chunk = new ArrayList<>();
+            Long filmId = null;
+            int films = 0;
+            for (FilmRow row : (Iterable<FilmRow>) rows::iterator) {
+                if (!row.filmId().equals(filmId)) {
+                    if (films == STREAM_CHUNK_SIZE) {
+                        consumeChunk(chunk, consumer);
+                        films = 0;
+                    }
+                    filmId = row.filmId();
+                    films++;
+                }
+                chunk.add(row);
+            }
+            consumeChunk(chunk, consumer);
+        }
+    }
+
+    /** Function to get film for reading.
+     * Tag of the film is read before the film and is cached with it.
+     *
+     * @param id id of the film
+     * @return FilmDto of the film
+     */
+    @Cacheable(value = CacheConfig.FILM_BY_ID_CACHE, key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    public FilmDto findDtoById(Long id) {
+        if (id == null || id <= 0) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST, "Invalid film ID");
+        }
+        FilmDto film = loadDto(id);
+        if (film == null) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE);
+        }
+        return film;
+    }
+
+    /** Function to get film with its directors and reviews for changing it.
+     *
+     * @param id id of the film
+     * @return object of Film class
+     */
+    public Film findById(Long id) {
+        if (id == null || id <= 0) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST, "Invalid film ID");
+        }
+        return filmRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(HttpStatus.NOT_FOUND,
+                        ERROR_MESSAGE));
+    }
+
+    /** Function to get films of the director, name is compared regardless of case and accents.
+     *
+     * @param directorName name of the director
+     * @return list of FilmDtos ordered by id
+     */
+    @Cacheable(value = CacheConfig.FILMS_BY_DIRECTOR_CACHE,
+            key = "T(com.cinema.filmlibrary.utils.NameUtil).normalize(#directorName)",
+            sync = true)
+    @Transactional(readOnly = true)
+    public List<FilmDto> findByDirectorName(String directorName) {
+        if (directorName == null || directorName.trim().isEmpty()) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Director name cannot be empty");
+        }
+        return withReviews(filmRepository.findRowsByDirectorName(
+                NameUtil.normalize(directorName)));
+    }
+
+    /** Function to get films with amount of reviews greater than reviewCount.
+     *
+     * @param reviewCount amount of reviews
+     * @return list of FilmDtos ordered by id
+     */
+    @Cacheable(value = CacheConfig.FILMS_BY_REVIEW_COUNT_CACHE, key = "#reviewCount",
+            sync = true)
+    @Transactional(readOnly = true)
+    public List<FilmDto> findByReviewCount(Long reviewCount) {
+        if (reviewCount == null || reviewCount < 0) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Review count must be a positive number");
+        }
+        return findDtosByIds(reviewStatsService.findFilmIdsWithMoreReviewsThan(reviewCount));
+    }
+
+    /** Some code here. */
+    @Transactional
+    public Film save(Film film) {
+        validateFilm(film);
+
+        try {
+            if (film.getDirectors() != null) {
+                List<Director> savedDirectors = new ArrayList<>();
+                for (Director director : film.getDirectors()) {
+                    Director resolved = directorResolver.resolveOrCreate(director);
+                    if (!savedDirectors.contains(resolved)) {
+                        savedDirectors.add(resolved);
+                    }
+                }
+                film.setDirectors(savedDirectors);
+            }
+
+            if (film.getReviews() != null) {
+                for (Review review : film.getReviews()) {
+                    review.setFilm(film);
+                }
+            }
+
+            film.setVersion(null);
+            Film savedFilm = filmRepository.save(film);
+            reviewStatsService.filmSaved(savedFilm);
+            changeFeedService.record(ChangeEvent.EntityType.FILM, ChangeEvent.Operation.CREATED,
+                    savedFilm.getId(), savedFilm.getId());
+            FilmFacetIndex.Facets facets = FilmFacetIndex.Facets.of(savedFilm);
+            TransactionUtil.afterCommit(() -> {
+                filmTitleIndex.add(savedFilm.getId(), savedFilm.getTitle());
+                filmFacetIndex.put(savedFilm.getId(), facets);
+            });
+            filmCacheInvalidator.filmChanged(savedFilm);
+            return savedFilm;
+        } catch (Exception e) {
+            throw new ForbiddenAccessException(HttpStatus.FORBIDDEN,
+                    "You don't have permission to create this film");
+        }
+    }
+
+    /** Function to update title, genre and release year of the film.
+     * Changes are applied to the stored film, so its version guards them: the update
+     * fails with 412 if the client sent another version in the body or another tag
+     * in If-Match, and with 409 if the film is changed before this update is saved.
+     *
+     * @param id id of the film
+     * @param film new data of the film, version is optional
+     * @param ifMatch If-Match header of the request or null
+     * @return updated film
+     */
+    @Transactional
+    public Film update(Long id, Film film, String ifMatch) {
+        if (id == null || id <= 0) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST, "Invalid film ID");
+        }
+        if (film == null) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Film object cannot be null");
+        }
+
+        Film existingFilm = findById(id);
+        boolean tagChanged = ifMatch != null
+                && !entityTagService.matches(ifMatch, entityTagService.filmTag(id));
+        boolean versionChanged = film.getVersion() != null
+                && !film.getVersion().equals(existingFilm.getVersion());
+        if (tagChanged || versionChanged) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "Film was changed by another request");
+        }
+        existingFilm.setTitle(film.getTitle());
+        existingFilm.setGenre(film.getGenre());
+        existingFilm.setReleaseYear(film.getReleaseYear());
+
+        Film savedFilm = filmRepository.saveAndFlush(existingFilm);
+        changeFeedService.record(ChangeEvent.EntityType.FILM, ChangeEvent.Operation.UPDATED,
+                id, id);
+        FilmFacetIndex.Facets facets = FilmFacetIndex.Facets.of(savedFilm);
+        TransactionUtil.afterCommit(() -> {
+            filmTitleIndex.add(id, savedFilm.getTitle());
+            filmFacetIndex.put(id, facets);
+            filmLeaderboard.rename(id, savedFilm.getTitle(), savedFilm.getGenre());
+        });
+        filmCacheInvalidator.filmChanged(savedFilm);
+        return savedFilm;
+    }
+
+    /** Some code here. */
+    @Transactional
+    public void delete(Long id) {
+        if (id == null || id <= 0) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST, "Invalid film ID");
+        }
+
+        try {
+            filmRepository.deleteById(id);
+            reviewStatsService.filmDeleted(id);
+            changeFeedService.record(ChangeEvent.EntityType.FILM, ChangeEvent.Operation.DELETED,
+                    id, id);
+            TransactionUtil.afterCommit(() -> {
+                filmTitleIndex.remove(id);
+                filmFacetIndex.remove(id);
+            });
+            filmCacheInvalidator.filmDeleted(id);
+        } catch (Exception e) {
+            throw new ForbiddenAccessException(HttpStatus.FORBIDDEN,
+                    "You don't have permission to delete this film");
+        }
+    }
+
+    /** Function to drop cached data of all instances after many films changed. */
+    public void clearCache() {
+        filmCacheInvalidator.allChanged();
+    }
+
+    private List<FilmDto> loadAllFilms() {
+        return filmRowMapper.toDtos(filmRepository.findAllRows(),
+                filmRepository.findAllReviewRows());
+    }
+
+    private FilmDto loadDto(Long id) {
+        String tag = entityTagService.filmTag(id);
+        FilmDto film = findDtosByIds(List.of(id)).stream().findFirst().orElse(null);
+        if (film != null) {
+            film.setEntityTag(tag);
+        }
+        return film;
+    }
+
+    private List<FilmDto> findDtosByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> sortedIds = ids.stream().distinct().sorted().toList();
+        List<FilmRow> rows = new ArrayList<>();
+        for (int from = 0; from < sortedIds.size(); from += MAX_IDS_PER_QUERY) {
+            rows.addAll(filmRepository.findRowsByIdIn(sortedIds.subList(from,
+                    Math.min(from + MAX_IDS_PER_QUERY, sortedIds.size()))));
+        }
+        return withReviews(rows);
+    }
+
+    private List<FilmDto> withReviews(List<FilmRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(FilmRow::filmId).distinct().toList();
+        List<ReviewRow> reviews = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            reviews.addAll(filmRepository.findReviewRowsByFilmIdIn(ids.subList(from,
+                    Math.min(from + MAX_IDS_PER_QUERY, ids.size()))));
+        }
+        return filmRowMapper.toDtos(rows, reviews);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private void consumeChunk(List<FilmRow> chunk, Consumer<FilmDto> consumer) {
+        withReviews(chunk).forEach(consumer);
+        chunk.clear();
+    }
+
+    void validateFilm(Film film) {
+        if (film == null) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Film object cannot be null");
+        }
+        if (film.getReleaseYear() == null) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "ReleaseYear parameter cannot be empty");
+        }
+        if (film.getReleaseYear() < 1900 || film.getReleaseYear() > 2100) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "The release year has been in 1900–2100");
+        }
+        if (film.getTitle() == null || film.getTitle().trim().isEmpty()) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Title parameter cannot be empty");
+        }
+        if (film.getGenre() == null || film.getGenre().trim().isEmpty()) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Genre parameter cannot be empty");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.cinema.filmlibrary.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Class to copy log lines of the date range from log files without loading them in memory.
+ * Reads the main log file and its rotated archives (plain or gzip), lines that do not
+ * start with a date (for example stack traces) belong to the previous dated line.
+ * Only the byte range of the requested dates is read from the main log file. Lines
+ * written by concurrent threads may be slightly out of time order, so every line of
+ * the read range is checked instead of stopping at the first line of a later date.
+ */
+@Component
+public class LogExtractor {
+    private static final Pattern ARCHIVE_DATE = Pattern.compile("(\\d{4})-(\\d{2})-(\\d{2})");
+
+    private final Path logFile;
+    private final LogOffsetIndex logOffsetIndex;
+
+    /** Constructor of the class. */
+    public LogExtractor(@Value("${logging.file.name:app.log}") String logFile,
+                        LogOffsetIndex logOffsetIndex) {
+        this.logFile = Paths.get(logFile).toAbsolutePath();
+        this.logOffsetIndex = logOffsetIndex;
+    }
+
+    /** Function to write log lines of the date range to the target file.
+     *
+     * @param from first date of the range
+     * @param to last date of the range
+     * @param target file to write lines to
+     * @return amount of written lines
+     * @throws IOException if unable to read logs or write target file
+     */
+    public long extract(LocalDate from, LocalDate to, Path target) throws IOException {
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            for (Path source : archives(from, to)) {
+                try (BufferedReader reader = open(source)) {
+                    written += copy(reader, from, to, writer);
+                }
+            }
+            if (Files.exists(logFile)) {
+                long[] range = logOffsetIndex.range(from, to);
+                try (BufferedReader reader = open(logFile, range[0], range[1])) {
+                    written += copy(reader, from, to, writer);
+                }
+            }
+        }
+        return written;
+    }
+
+    /** Function to get date of the log line.
+     *
+     * @param line line of the log
+     * @return date of the line or null if line does not start with date
+     */
+    static LocalDate parseDate(String line) {
+        if (line.length() < 10 || line.charAt(2) != '-' || line.charAt(5) != '-') {
+            return null;
+        }
+        try {
+            return LocalDate.of(Integer.parseInt(line, 6, 10, 10),
+                    Integer.parseInt(line, 3, 5, 10),
+                    Integer.parseInt(line, 0, 2, 10));
+        } catch (NumberFormatException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    private List<Path> archives(LocalDate from, LocalDate to) throws IOException {
+        Path directory = logFile.getParent();
+        String name = logFile.getFileName().toString();
+        List<Path> archives = new ArrayList<>();
+        if (directory != null && Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(path -> path.getFileName().toString().startsWith(name + "."))
+                        .filter(path -> !path.getFileName().toString()
+                                .contains(LogOffsetIndex.INDEX_SUFFIX))
+                        .filter(path -> mayContain(path, from, to))
+                        .forEach(archives::add);
+            }
+        }
+        archives.sort(Comparator.comparing(LogExtractor::lastModified));
+        return archives;
+    }
+
+    private static long copy(BufferedReader reader, LocalDate from, LocalDate to,
+                             BufferedWriter writer) throws IOException {
+        long written = 0;
+        boolean matching = false;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            LocalDate date = parseDate(line);
+            if (date != null) {
+                matching = !date.isBefore(from) && !date.isAfter(to);
+            }
+            if (matching) {
+                writer.write(line);
+                writer.newLine();
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private static BufferedReader open(Path source) throws IOException {
+        InputStream input = Files.newInputStream(source);
+        if (source.getFileName().toString().endsWith(".gz")) {
+            input = new GZIPInputStream(input);
+        }
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    private static BufferedReader open(Path source, long start, long end) throws IOException {
+        FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+        channel.position(start);
+        InputStream input = new BoundedInputStream(Channels.newInputStream(channel),
+                end - start);
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    private static boolean mayContain(Path archive, LocalDate from, LocalDate to) {
+        Matcher matcher = ARCHIVE_DATE.matcher(archive.getFileName().toString());
+        if (!matcher.find()) {
+            return true;
+        }
+        try {
+            LocalDate date = LocalDate.of(Integer.parseInt(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+            return !date.isBefore(from) && !date.isAfter(to);
+        } catch (DateTimeException e) {
+            return true;
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
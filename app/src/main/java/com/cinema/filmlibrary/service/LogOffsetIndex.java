@@ -0,0 +1,180 @@
+package com.cinema.filmlibrary.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Class that holds sparse index from every hour of the log to byte offset of its first line.
+ * The index is extended with every new part of the log file and saved in a sidecar
+ * file next to the log, so export can read only the bytes of the requested dates.
+ * Lines may be written slightly out of time order, so ranges end one hour later
+ * than the requested dates and callers filter lines by their dates.
+ */
+@Component
+public class LogOffsetIndex {
+    /** Suffix of the sidecar file with the index. */
+    public static final String INDEX_SUFFIX = ".idx";
+
+    private static final int PREFIX_LENGTH = 13;
+    private static final long ORDER_TOLERANCE_HOURS = 1;
+
+    private final Logger logger = LoggerFactory.getLogger(LogOffsetIndex.class);
+    private final Path logFile;
+    private final Path indexFile;
+    private final NavigableMap<LocalDateTime, Long> offsets = new TreeMap<>();
+    private long indexedLength;
+    private String fileKey = "";
+    private boolean loaded;
+
+    /** Constructor of the class. */
+    public LogOffsetIndex(@Value("${logging.file.name:app.log}") String logFile) {
+        this.logFile = Paths.get(logFile).toAbsolutePath();
+        this.indexFile = Paths.get(logFile + INDEX_SUFFIX).toAbsolutePath();
+    }
+
+    /** Function to get byte range of the log file that holds lines of the dates.
+     *
+     * @param from first date of the range
+     * @param to last date of the range
+     * @return start and end offsets of all lines of the dates, the range may also
+     *     hold lines of the hour after the dates
+     * @throws IOException if unable to read the log file
+     */
+    public synchronized long[] range(LocalDate from, LocalDate to) throws IOException {
+        refresh();
+        Map.Entry<LocalDateTime, Long> first = offsets.ceilingEntry(from.atStartOfDay());
+        if (first == null) {
+            return new long[] {indexedLength, indexedLength};
+        }
+        Map.Entry<LocalDateTime, Long> last = offsets.ceilingEntry(
+                to.plusDays(1).atStartOfDay().plusHours(ORDER_TOLERANCE_HOURS));
+        return new long[] {first.getValue(), last == null ? indexedLength : last.getValue()};
+    }
+
+    /** Function to index the part of the log file written since the previous call. */
+    @Scheduled(fixedDelayString = "${app.logs.index-refresh-ms:60000}")
+    public synchronized void refresh() throws IOException {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        if (!loaded) {
+            load();
+            loaded = true;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(logFile,
+                BasicFileAttributes.class);
+        long size = attributes.size();
+        String key = String.valueOf(attributes.fileKey()).replace(' ', '_');
+        if (!key.equals(fileKey) || size < indexedLength) {
+            offsets.clear();
+            indexedLength = 0;
+            fileKey = key;
+        }
+        if (size == indexedLength) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            channel.position(indexedLength);
+            InputStream input = new BufferedInputStream(Channels.newInputStream(channel), 1 << 16);
+            byte[] prefix = new byte[PREFIX_LENGTH];
+            int prefixLength = 0;
+            long offset = indexedLength;
+            long lineStart = indexedLength;
+            int value;
+            while (offset < size && (value = input.read()) != -1) {
+                offset++;
+                if (value == '\n') {
+                    addLine(prefix, prefixLength, lineStart);
+                    lineStart = offset;
+                    prefixLength = 0;
+                } else if (prefixLength < PREFIX_LENGTH) {
+                    prefix[prefixLength++] = (byte) value;
+                }
+            }
+            indexedLength = lineStart;
+        }
+        save();
+    }
+
+    private void addLine(byte[] prefix, int length, long offset) {
+        if (length < PREFIX_LENGTH) {
+            return;
+        }
+        LocalDateTime hour = parseHour(new String(prefix, 0, PREFIX_LENGTH,
+                StandardCharsets.US_ASCII));
+        if (hour != null && (offsets.isEmpty() || hour.isAfter(offsets.lastKey()))) {
+            offsets.put(hour, offset);
+        }
+    }
+
+    private static LocalDateTime parseHour(String prefix) {
+        LocalDate date = LogExtractor.parseDate(prefix);
+        if (date == null || prefix.charAt(10) != ' ') {
+            return null;
+        }
+        try {
+            return date.atTime(Integer.parseInt(prefix, 11, 13, 10), 0);
+        } catch (NumberFormatException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String[] header = reader.readLine().split(" ");
+            fileKey = header[0];
+            indexedLength = Long.parseLong(header[1]);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ");
+                offsets.put(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Log index {} is broken and will be rebuilt", indexFile);
+            offsets.clear();
+            indexedLength = 0;
+            fileKey = "";
+        }
+    }
+
+    private void save() throws IOException {
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(fileKey + " " + indexedLength);
+            writer.newLine();
+            for (Map.Entry<LocalDateTime, Long> entry : offsets.entrySet()) {
+                writer.write(entry.getKey() + " " + entry.getValue());
+                writer.newLine();
+            }
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
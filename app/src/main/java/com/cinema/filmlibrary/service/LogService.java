@@ -0,0 +1,121 @@
+package com.cinema.filmlibrary.service;
+
+import com.cinema.filmlibrary.entity.LogObj;
+import com.cinema.filmlibrary.exception.InvalidValueFormatException;
+import com.cinema.filmlibrary.exception.ResourceNotFoundException;
+import com.cinema.filmlibrary.exception.ResponseStatusException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/** Class to hold logic for operations with logs. */
+@Service
+public class LogService {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private final AsyncLogService asyncLogService;
+    private final LogTaskRegistry logTaskRegistry;
+    private final LogFileSender logFileSender;
+
+    /** Constructor of the class. */
+    public LogService(AsyncLogService asyncLogService, LogTaskRegistry logTaskRegistry,
+                      LogFileSender logFileSender) {
+        this.asyncLogService = asyncLogService;
+        this.logTaskRegistry = logTaskRegistry;
+        this.logFileSender = logFileSender;
+    }
+
+    /** Function to start creating log file.
+     * Either date or both from and to must be specified.
+     *
+     * @param date date of the logs
+     * @param from first date of the logs range
+     * @param to last date of the logs range
+     * @return id of the task
+     */
+    public Long startLogCreation(String date, String from, String to) {
+        LocalDate fromDate;
+        LocalDate toDate;
+        if (date != null) {
+            fromDate = parseDate(date);
+            toDate = fromDate;
+        } else if (from != null && to != null) {
+            fromDate = parseDate(from);
+            toDate = parseDate(to);
+        } else {
+            throw new InvalidValueFormatException(HttpStatus.BAD_REQUEST,
+                    "Either date or from and to must be specified");
+        }
+        if (fromDate.isAfter(toDate)) {
+            throw new InvalidValueFormatException(HttpStatus.BAD_REQUEST,
+                    "From date must not be after to date");
+        }
+
+        LogTaskRegistry.Registration registration = logTaskRegistry.register(fromDate, toDate);
+        if (registration.created()) {
+            try {
+                asyncLogService.createLogs(registration.taskId(), fromDate, toDate);
+            } catch (TaskRejectedException e) {
+                logTaskRegistry.cancel(registration.taskId());
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Too many log files are being created, try again later");
+            }
+        }
+        return registration.taskId();
+    }
+
+    /** Function to get status of creating log file.
+     *
+     * @param taskId id of the task
+     * @return object of LogObj class
+     */
+    public LogObj getStatus(Long taskId) {
+        LogObj task = logTaskRegistry.get(taskId);
+        if (task == null) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Task not found");
+        }
+        return task;
+    }
+
+    /** Function to download file with specified logs.
+     *
+     * @param taskId id of the task
+     * @param request request with range, conditional and encoding headers
+     * @param response response to write file with specified logs to
+     * @throws IOException if unable to send created log file
+     */
+    public void downloadCreatedLogs(Long taskId, HttpServletRequest request,
+                                    HttpServletResponse response) throws IOException {
+        LogObj task = getStatus(taskId);
+        if (!"COMPLETED".equals(task.getStatus())) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Logs not ready");
+        }
+
+        Path path = logTaskRegistry.openDownload(taskId);
+        if (path == null) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Logs not found");
+        }
+        // File is written before the call returns, the registry may delete it after closeDownload
+        try {
+            logFileSender.send(path, request, response, false);
+        } finally {
+            logTaskRegistry.closeDownload(path);
+        }
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date, FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new InvalidValueFormatException(HttpStatus.BAD_REQUEST,
+                    "Date must be in format dd-MM-yyyy: " + date);
+        }
+    }
+}
\ No newline at end of file
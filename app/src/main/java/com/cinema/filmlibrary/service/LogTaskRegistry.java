@@ -0,0 +1,241 @@
+package com.cinema.filmlibrary.service;
+
+import com.cinema.filmlibrary.entity.LogObj;
+import com.cinema.filmlibrary.exception.ResponseStatusException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Class that holds log creation tasks.
+ * Tasks in progress are never evicted and their amount is limited. Finished
+ * tasks are kept for a limited time, files of evicted tasks are deleted by a periodic
+ * cleanup once no download reads them. Downloads write the whole file before they
+ * are closed and never hand it to sendfile of the container, which would open the
+ * file only after the download is closed.
+ * Requests for the same dates share one task while it runs, completed tasks
+ * for past dates are reused because their logs do not change anymore.
+ */
+@Component
+public class LogTaskRegistry {
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    private final Logger logger = LoggerFactory.getLogger(LogTaskRegistry.class);
+    private final AtomicLong idCounter = new AtomicLong(System.currentTimeMillis());
+    private final Map<Long, Entry> active = new ConcurrentHashMap<>();
+    private final Map<String, Long> activeByRange = new ConcurrentHashMap<>();
+    private final Map<String, Long> completedByRange = new ConcurrentHashMap<>();
+    private final Map<Path, Integer> downloads = new ConcurrentHashMap<>();
+    private final Set<Path> unusedFiles = ConcurrentHashMap.newKeySet();
+    private final Cache<Long, Entry> finished;
+    private final int maxActiveTasks;
+
+    /** Registered task and the flag that shows if it has to be started. */
+    public record Registration(Long taskId, boolean created) {
+    }
+
+    private record Entry(LogObj task, String range) {
+    }
+
+    /** Constructor of the class. */
+    @Autowired
+    public LogTaskRegistry(@Value("${app.logs.max-active-tasks:10}") int maxActiveTasks,
+                           @Value("${app.logs.max-finished-tasks:100}") long maxFinishedTasks,
+                           @Value("${app.logs.finished-task-ttl:30m}") Duration finishedTaskTtl) {
+        this(maxActiveTasks, maxFinishedTasks, finishedTaskTtl, Ticker.systemTicker());
+    }
+
+    /** Constructor of the class with the source of time for expiration of finished tasks. */
+    LogTaskRegistry(int maxActiveTasks, long maxFinishedTasks, Duration finishedTaskTtl,
+                    Ticker ticker) {
+        this.maxActiveTasks = maxActiveTasks;
+        this.finished = Caffeine.newBuilder()
+                .maximumSize(maxFinishedTasks)
+                .expireAfterWrite(finishedTaskTtl)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    /** Function to get task for the dates, reusing a running or completed one.
+     *
+     * @param from first date of the range
+     * @param to last date of the range
+     * @return id of the task and true if the task is new and has to be started
+     */
+    public synchronized Registration register(LocalDate from, LocalDate to) {
+        String range = from + "_" + to;
+        Long running = activeByRange.get(range);
+        if (running != null) {
+            return new Registration(running, false);
+        }
+        Long completed = completedByRange.get(range);
+        if (completed != null && to.isBefore(LocalDate.now()) && isReusable(completed)) {
+            return new Registration(completed, false);
+        }
+        if (active.size() >= maxActiveTasks) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many log files are being created, try again later");
+        }
+
+        Long id = idCounter.getAndIncrement();
+        active.put(id, new Entry(new LogObj(id, IN_PROGRESS), range));
+        activeByRange.put(range, id);
+        return new Registration(id, true);
+    }
+
+    /** Function to get task by id.
+     *
+     * @param taskId id of the task
+     * @return task or null if there is no such task
+     */
+    public LogObj get(Long taskId) {
+        Entry entry = active.get(taskId);
+        if (entry == null) {
+            entry = finished.getIfPresent(taskId);
+        }
+        return entry == null ? null : entry.task();
+    }
+
+    /** Function to get file of the completed task and keep it until download finishes.
+     * Every successful call must be followed by closeDownload.
+     *
+     * @param taskId id of the task
+     * @return file of the task or null if the task is not completed or its file is gone
+     */
+    public Path openDownload(Long taskId) {
+        Entry entry = finished.getIfPresent(taskId);
+        if (entry == null || entry.task().getFilePath() == null) {
+            return null;
+        }
+        Path file = Paths.get(entry.task().getFilePath());
+        downloads.merge(file, 1, Integer::sum);
+        // Task may have been evicted before the download was counted
+        if (finished.getIfPresent(taskId) == null || !Files.exists(file)) {
+            closeDownload(file);
+            return null;
+        }
+        return file;
+    }
+
+    /** Function to mark download of the file as finished.
+     *
+     * @param file file returned by openDownload
+     */
+    public void closeDownload(Path file) {
+        downloads.computeIfPresent(file, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    /** Function to delete files of evicted tasks that are not downloaded at the moment. */
+    @Scheduled(fixedDelayString = "${app.logs.cleanup-interval-ms:60000}")
+    public void deleteUnusedFiles() {
+        finished.cleanUp();
+        for (Path file : unusedFiles) {
+            if (!downloads.containsKey(file)) {
+                unusedFiles.remove(file);
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    /** Function to mark task as completed.
+     *
+     * @param taskId id of the task
+     * @param file created log file
+     */
+    public synchronized void complete(Long taskId, Path file) {
+        Entry entry = deactivate(taskId);
+        if (entry == null) {
+            deleteQuietly(file);
+            return;
+        }
+        LogObj task = new LogObj(taskId, COMPLETED);
+        task.setFilePath(file.toString());
+        finished.put(taskId, new Entry(task, entry.range()));
+        completedByRange.put(entry.range(), taskId);
+    }
+
+    /** Function to mark task as failed.
+     *
+     * @param taskId id of the task
+     * @param message description of the error
+     */
+    public synchronized void fail(Long taskId, String message) {
+        Entry entry = deactivate(taskId);
+        if (entry == null) {
+            return;
+        }
+        LogObj task = new LogObj(taskId, FAILED);
+        task.setErrorMessage(message);
+        finished.put(taskId, new Entry(task, entry.range()));
+    }
+
+    /** Function to forget task that could not be started.
+     *
+     * @param taskId id of the task
+     */
+    public synchronized void cancel(Long taskId) {
+        deactivate(taskId);
+    }
+
+    /** Function to delete files of all finished tasks on shutdown. */
+    @PreDestroy
+    public void close() {
+        finished.invalidateAll();
+        finished.cleanUp();
+        unusedFiles.forEach(this::deleteQuietly);
+        unusedFiles.clear();
+    }
+
+    private Entry deactivate(Long taskId) {
+        Entry entry = active.remove(taskId);
+        if (entry != null) {
+            activeByRange.remove(entry.range(), taskId);
+        }
+        return entry;
+    }
+
+    private boolean isReusable(Long taskId) {
+        Entry entry = finished.getIfPresent(taskId);
+        return entry != null && Files.exists(Paths.get(entry.task().getFilePath()));
+    }
+
+    private void onRemoval(Long taskId, Entry entry, RemovalCause cause) {
+        if (entry == null || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        completedByRange.remove(entry.range(), taskId);
+        if (entry.task().getFilePath() != null) {
+            unusedFiles.add(Paths.get(entry.task().getFilePath()));
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Unable to delete log file {}", file);
+        }
+    }
+}
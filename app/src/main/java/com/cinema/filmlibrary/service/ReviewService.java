@@ -1,5 +1,9 @@
 package com.cinema.filmlibrary.service;
 
+import com.cinema.filmlibrary.cache.FilmCacheInvalidator;
+import com.cinema.filmlibrary.config.CacheConfig;
+import com.cinema.filmlibrary.dto.TaggedDto;
+import com.cinema.filmlibrary.entity.ChangeEvent;
 import com.cinema.filmlibrary.entity.Film;
 import com.cinema.filmlibrary.entity.Review;
 import com.cinema.filmlibrary.exception.ForbiddenAccessException;
@@ -9,7 +13,6 @@ import com.cinema.filmlibrary.repository.FilmRepository;
 import com.cinema.filmlibrary.repository.ReviewRepository;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -20,23 +23,37 @@ import org.springframework.transaction.annotation.Transactional;
 public class ReviewService {
 
     private static final String ERROR_MESSAGE = "Review not found";
-    private static final String REVIEWS_CACHE = "reviews";
-    private static final String FILMS_CACHE = "films";
     private static String errorMessageForbidden = "Access to this operation is forbidden";
     private final ReviewRepository reviewRepository;
     private final FilmService filmService;
     private final FilmRepository filmRepository;
+    private final FilmCacheInvalidator filmCacheInvalidator;
+    private final ReviewStatsService reviewStatsService;
+    private final EntityTagService entityTagService;
+    private final ChangeFeedService changeFeedService;
 
     /** Constructor of the class.
      *
      * @param reviewRepository object of the ReviewRepository class
      * @param filmService object of the BookRepository class
+     * @param filmCacheInvalidator object to evict cache entries affected by reviews
+     * @param reviewStatsService object to maintain review statistics of films
+     * @param entityTagService object to change tags of films after change of reviews
+     * @param changeFeedService object to record changes of reviews
      */
     public ReviewService(ReviewRepository reviewRepository, FilmService filmService,
-                         FilmRepository filmRepository) {
+                         FilmRepository filmRepository,
+                         FilmCacheInvalidator filmCacheInvalidator,
+                         ReviewStatsService reviewStatsService,
+                         EntityTagService entityTagService,
+                         ChangeFeedService changeFeedService) {
         this.reviewRepository = reviewRepository;
         this.filmService = filmService;
         this.filmRepository = filmRepository;
+        this.filmCacheInvalidator = filmCacheInvalidator;
+        this.reviewStatsService = reviewStatsService;
+        this.entityTagService = entityTagService;
+        this.changeFeedService = changeFeedService;
     }
 
     /** Function to add review to the film.
@@ -46,12 +63,19 @@ public class ReviewService {
      * @return created review
      */
     @Transactional
-    @CacheEvict(value = {REVIEWS_CACHE, FILMS_CACHE}, key = "#filmId")
     public Review createReview(Long filmId, Review review) {
+        ReviewStatsService.validateRating(review);
         Film film = filmRepository.findById(filmId)
                 .orElseThrow(() -> new EntityNotFoundException("Film not found"));
         review.setFilm(film);
-        return reviewRepository.save(review);
+        review.setVersion(null);
+        Review savedReview = reviewRepository.save(review);
+        long reviewCount = reviewStatsService.reviewAdded(filmId, savedReview.getRating());
+        entityTagService.reviewsChanged(filmId);
+        changeFeedService.record(ChangeEvent.EntityType.REVIEW, ChangeEvent.Operation.CREATED,
+                savedReview.getId(), filmId);
+        filmCacheInvalidator.reviewsChanged(filmId, reviewCount);
+        return savedReview;
     }
 
     /** Function to update review of the film.
@@ -62,7 +86,6 @@ public class ReviewService {
      * @return updated review
      */
     @Transactional
-    @CacheEvict(value = {REVIEWS_CACHE, FILMS_CACHE}, key = "#filmId")
     public Review updateReview(Integer reviewId, Review review, Long filmId) {
         if (reviewId == null) {
             throw new InvalidRequestException(HttpStatus.BAD_REQUEST, "ReviewId cannot be null");
@@ -70,6 +93,7 @@ public class ReviewService {
         if (filmId == null) {
             throw new InvalidRequestException(HttpStatus.BAD_REQUEST, "filmId cannot be null");
         }
+        ReviewStatsService.validateRating(review);
         if (!filmRepository.existsById(filmId)) {
             throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Film not found");
         }
@@ -85,7 +109,14 @@ public class ReviewService {
                 new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE));
         for (Review r : reviews) {
             if (r.getId().equals(Long.valueOf(reviewId))) {
+                int previousRating = initialReview.getRating();
                 initialReview.setMessage(review.getMessage());
+                initialReview.setRating(review.getRating());
+                reviewStatsService.reviewChanged(filmId, previousRating, review.getRating());
+                entityTagService.reviewsChanged(filmId);
+                changeFeedService.record(ChangeEvent.EntityType.REVIEW,
+                        ChangeEvent.Operation.UPDATED, initialReview.getId(), filmId);
+                filmCacheInvalidator.reviewsChanged(filmId, 0);
                 return reviewRepository.save(initialReview);
             }
         }
@@ -98,7 +129,6 @@ public class ReviewService {
      * @param reviewId id of the review
      */
     @Transactional
-    @CacheEvict(value = {REVIEWS_CACHE, FILMS_CACHE}, key = "#filmId")
     public void deleteReview(Integer reviewId, Long filmId) {
         if (reviewId == null) {
             throw new InvalidRequestException(HttpStatus.BAD_REQUEST, "ReviewId cannot be null");
@@ -106,27 +136,34 @@ public class ReviewService {
         if (filmId == null) {
             throw new InvalidRequestException(HttpStatus.BAD_REQUEST, "filmId cannot be null");
         }
-        if (!reviewRepository.existsById(reviewId)) {
-            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE);
-        }
-        reviewRepository.deleteById(reviewId);
+        Review review = reviewRepository.findById(reviewId).orElseThrow(() ->
+                new ResourceNotFoundException(HttpStatus.NOT_FOUND, ERROR_MESSAGE));
+        Long reviewFilmId = review.getFilm() == null ? filmId : review.getFilm().getId();
+        reviewRepository.delete(review);
+        reviewStatsService.reviewRemoved(reviewFilmId, review.getRating());
+        entityTagService.reviewsChanged(reviewFilmId);
+        changeFeedService.record(ChangeEvent.EntityType.REVIEW, ChangeEvent.Operation.DELETED,
+                review.getId(), reviewFilmId);
+        filmCacheInvalidator.reviewsChanged(reviewFilmId, 0);
     }
 
     /** Function to get all reviews of the film.
+     * Tag of the reviews is read before them and is cached with them.
      *
      * @param filmId id of the film
-     * @return reviews of the film
+     * @return reviews of the film with their tag
      */
-    @Cacheable(value = REVIEWS_CACHE, key = "#filmId")
-    public List<Review> getReviewsByFilmId(Long filmId) {
+    @Cacheable(value = CacheConfig.REVIEWS_CACHE, key = "#filmId")
+    public TaggedDto<List<Review>> getReviewsByFilmId(Long filmId) {
         if (filmId == null) {
             throw new InvalidRequestException(HttpStatus.BAD_REQUEST, "filmId cannot be null");
         }
-        if (!filmRepository.existsById(filmId)) {
+        String tag = entityTagService.reviewsTag(filmId);
+        if (tag == null) {
             throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Film not found");
         }
 
-        return reviewRepository.findByFilmId(filmId);
+        return new TaggedDto<>(tag, reviewRepository.findByFilmId(filmId));
     }
 
     /** Function to get all reviews from database.
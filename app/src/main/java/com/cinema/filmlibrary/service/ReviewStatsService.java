@@ -0,0 +1,303 @@
+package com.cinema.filmlibrary.service;
+
+import com.cinema.filmlibrary.dto.FilmRankingDto;
+import com.cinema.filmlibrary.dto.FilmReviewStatsDto;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.entity.FilmReviewStats;
+import com.cinema.filmlibrary.entity.Review;
+import com.cinema.filmlibrary.exception.InvalidRequestException;
+import com.cinema.filmlibrary.exception.ResourceNotFoundException;
+import com.cinema.filmlibrary.index.FilmFacetIndex;
+import com.cinema.filmlibrary.index.FilmLeaderboard;
+import com.cinema.filmlibrary.repository.FilmRepository;
+import com.cinema.filmlibrary.repository.FilmReviewStatsRepository;
+import com.cinema.filmlibrary.utils.TransactionUtil;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Class to maintain review statistics of films.
+ * Statistics are changed in the same transaction as reviews, so queries
+ * by amount of reviews or rating read one indexed table instead of
+ * aggregating all reviews. Committed changes are passed to the leaderboard
+ * and to the facet index.
+ */
+@Service
+public class ReviewStatsService {
+    private static final int MAX_LIMIT = 100;
+
+    private final FilmReviewStatsRepository statsRepository;
+    private final FilmRepository filmRepository;
+    private final FilmLeaderboard filmLeaderboard;
+    private final FilmFacetIndex filmFacetIndex;
+    private final EntityManager entityManager;
+    private final UniqueRowInserter uniqueRowInserter;
+
+    /** Constructor of the class. */
+    public ReviewStatsService(FilmReviewStatsRepository statsRepository,
+                              FilmRepository filmRepository, FilmLeaderboard filmLeaderboard,
+                              FilmFacetIndex filmFacetIndex, EntityManager entityManager,
+                              UniqueRowInserter uniqueRowInserter) {
+        this.statsRepository = statsRepository;
+        this.filmRepository = filmRepository;
+        this.filmLeaderboard = filmLeaderboard;
+        this.filmFacetIndex = filmFacetIndex;
+        this.entityManager = entityManager;
+        this.uniqueRowInserter = uniqueRowInserter;
+    }
+
+    /** Function to build statistics from all reviews if there are none yet. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (statsRepository.count() > 0) {
+            return;
+        }
+        Map<Long, FilmReviewStats> stats = new HashMap<>();
+        for (Object[] row : statsRepository.findAllRatings()) {
+            Long filmId = (Long) row[0];
+            stats.computeIfAbsent(filmId, FilmReviewStats::new).add((Integer) row[1]);
+        }
+        stats.values().forEach(entityManager::persist);
+    }
+
+    /** Function to count reviews of the new film.
+     *
+     * @param film saved film
+     */
+    @Transactional
+    public void filmCreated(Film film) {
+        FilmReviewStats stats = new FilmReviewStats(film.getId());
+        if (film.getReviews() != null) {
+            film.getReviews().forEach(review -> stats.add(review.getRating()));
+        }
+        entityManager.persist(stats);
+        publish(stats);
+    }
+
+    /** Function to count reviews of the film saved with its reviews.
+     *
+     * @param film saved film
+     */
+    @Transactional
+    public void filmSaved(Film film) {
+        FilmReviewStats stats = lock(film.getId());
+        stats.clear();
+        if (film.getReviews() != null) {
+            film.getReviews().forEach(review -> stats.add(review.getRating()));
+        }
+        publish(stats);
+    }
+
+    /** Function to delete statistics of the deleted film.
+     *
+     * @param filmId id of the film
+     */
+    @Transactional
+    public void filmDeleted(Long filmId) {
+        statsRepository.deleteByFilmId(filmId);
+        TransactionUtil.afterCommit(() -> filmLeaderboard.remove(filmId));
+    }
+
+    /** Function to count new review of the film.
+     *
+     * @param filmId id of the film
+     * @param rating rating of the review
+     * @return amount of reviews of the film after the change
+     */
+    @Transactional
+    public long reviewAdded(Long filmId, int rating) {
+        FilmReviewStats stats = lock(filmId);
+        stats.add(rating);
+        publish(stats);
+        return stats.getReviewCount();
+    }
+
+    /** Function to take changed rating of the review into account.
+     *
+     * @param filmId id of the film
+     * @param previousRating rating before the change
+     * @param rating rating after the change
+     */
+    @Transactional
+    public void reviewChanged(Long filmId, int previousRating, int rating) {
+        if (previousRating == rating) {
+            return;
+        }
+        FilmReviewStats stats = lock(filmId);
+        stats.remove(previousRating);
+        stats.add(rating);
+        publish(stats);
+    }
+
+    /** Function to stop counting removed review of the film.
+     *
+     * @param filmId id of the film
+     * @param rating rating of the review
+     * @return amount of reviews of the film after the change
+     */
+    @Transactional
+    public long reviewRemoved(Long filmId, int rating) {
+        FilmReviewStats stats = lock(filmId);
+        stats.remove(rating);
+        publish(stats);
+        return stats.getReviewCount();
+    }
+
+    /** Function to get statistics of the film.
+     *
+     * @param filmId id of the film
+     * @return statistics of the film, empty if film has no reviews
+     */
+    @Transactional(readOnly = true)
+    public FilmReviewStatsDto getStats(Long filmId) {
+        if (!filmRepository.existsById(filmId)) {
+            throw new ResourceNotFoundException(HttpStatus.NOT_FOUND, "Film not found");
+        }
+        FilmReviewStats stats = statsRepository.findById(filmId)
+                .orElseGet(() -> new FilmReviewStats(filmId));
+        return toDtos(List.of(stats)).get(0);
+    }
+
+    /** Function to get ids of films with amount of reviews greater than reviewCount.
+     *
+     * @param reviewCount amount of reviews
+     * @return ids of films
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findFilmIdsWithMoreReviewsThan(long reviewCount) {
+        return statsRepository.findFilmIdsByReviewCountGreaterThan(reviewCount);
+    }
+
+    /** Function to get statistics of films with the highest average rating.
+     *
+     * @param limit maximum amount of films
+     * @param minReviews minimum amount of reviews of the film
+     * @return statistics ordered by average rating
+     */
+    @Transactional(readOnly = true)
+    public List<FilmReviewStatsDto> findTopRated(int limit, long minReviews) {
+        checkLimit(limit);
+        return toDtos(statsRepository
+                .findByReviewCountGreaterThanEqualOrderByAverageRatingDescFilmIdAsc(
+                        Math.max(1, minReviews), Limit.of(limit)));
+    }
+
+    /** Function to get statistics of films with the most reviews.
+     *
+     * @param limit maximum amount of films
+     * @return statistics ordered by amount of reviews
+     */
+    @Transactional(readOnly = true)
+    public List<FilmReviewStatsDto> findMostReviewed(int limit) {
+        checkLimit(limit);
+        return toDtos(statsRepository
+                .findByReviewCountGreaterThanEqualOrderByReviewCountDescFilmIdAsc(
+                        1, Limit.of(limit)));
+    }
+
+    /** Function to get top films from the in-memory leaderboard.
+     *
+     * @param by ordering of films, rating or reviews
+     * @param genre genre of films or null for all genres
+     * @param minReviews minimum amount of reviews of the film
+     * @param limit maximum amount of films
+     * @return films in order of the ranking
+     */
+    public List<FilmRankingDto> findTop(String by, String genre, long minReviews, int limit) {
+        checkLimit(limit);
+        FilmLeaderboard.Ranking ranking;
+        if ("rating".equalsIgnoreCase(by)) {
+            ranking = FilmLeaderboard.Ranking.RATING;
+        } else if ("reviews".equalsIgnoreCase(by)) {
+            ranking = FilmLeaderboard.Ranking.REVIEWS;
+        } else {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Ranking must be rating or reviews");
+        }
+
+        List<FilmLeaderboard.Entry> entries = filmLeaderboard.top(ranking,
+                genre == null || genre.isBlank() ? null : genre, minReviews, limit);
+        List<FilmRankingDto> result = new ArrayList<>(entries.size());
+        for (FilmLeaderboard.Entry entry : entries) {
+            result.add(new FilmRankingDto(result.size() + 1, entry.filmId(), entry.title(),
+                    entry.genre(), entry.reviewCount(), entry.averageRating()));
+        }
+        return result;
+    }
+
+    /** Function to check that rating of the review is in the allowed range.
+     *
+     * @param review review to check
+     */
+    public static void validateRating(Review review) {
+        if (review.getRating() < FilmReviewStats.MIN_RATING
+                || review.getRating() > FilmReviewStats.MAX_RATING) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Rating must be between " + FilmReviewStats.MIN_RATING
+                            + " and " + FilmReviewStats.MAX_RATING);
+        }
+    }
+
+    private List<FilmReviewStatsDto> toDtos(List<FilmReviewStats> stats) {
+        Map<Long, String> titles = new HashMap<>();
+        for (Object[] row : filmRepository.findTitlesByIdIn(
+                stats.stream().map(FilmReviewStats::getFilmId).toList())) {
+            titles.put((Long) row[0], (String) row[1]);
+        }
+        return stats.stream().map(item -> {
+            Map<Integer, Integer> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < item.getHistogram().length; i++) {
+                histogram.put(FilmReviewStats.MIN_RATING + i, item.getHistogram()[i]);
+            }
+            return new FilmReviewStatsDto(item.getFilmId(), titles.get(item.getFilmId()),
+                    item.getReviewCount(), item.getAverageRating(), histogram);
+        }).toList();
+    }
+
+    private void publish(FilmReviewStats stats) {
+        Film film = entityManager.find(Film.class, stats.getFilmId());
+        if (film == null) {
+            return;
+        }
+        Long filmId = stats.getFilmId();
+        String title = film.getTitle();
+        String genre = film.getGenre();
+        long reviewCount = stats.getReviewCount();
+        double averageRating = stats.getAverageRating();
+        // Row is locked until commit, so versions of statistics grow in commit order
+        long version = stats.getVersion() == null ? 0 : stats.getVersion();
+        TransactionUtil.afterCommit(() -> {
+            filmLeaderboard.update(filmId, title, genre, reviewCount, averageRating, version);
+            filmFacetIndex.rate(filmId, averageRating, reviewCount);
+        });
+    }
+
+    private FilmReviewStats lock(Long filmId) {
+        // Row may be missing for films created before statistics existed, it cannot be
+        // locked then, so it is created first in a way that is safe for concurrent calls
+        return statsRepository.findForUpdate(filmId).orElseGet(() -> {
+            uniqueRowInserter.insertIfAbsent(() -> statsRepository.insertIfAbsent(filmId),
+                    () -> statsRepository.insert(filmId));
+            return statsRepository.findForUpdate(filmId).orElseThrow();
+        });
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.cinema.filmlibrary.service;
+
+import java.util.function.IntSupplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Class to insert a row unless a row with the same unique key is already saved.
+ * On PostgreSQL it is INSERT ... ON CONFLICT DO NOTHING in the current transaction,
+ * concurrent inserts of the same key wait for each other there. Other databases,
+ * such as H2 used for development and tests, do not accept the conflict target,
+ * so the plain insert runs in its own transaction and a duplicate key means the
+ * row is already saved. Rows inserted that way stay if the current transaction
+ * rolls back, and every such insert takes one more connection from the pool.
+ */
+@Service
+public class UniqueRowInserter {
+    private final boolean onConflictSupported;
+    private final TransactionTemplate newTransaction;
+
+    /** Constructor of the class. */
+    public UniqueRowInserter(PlatformTransactionManager transactionManager,
+                             @Value("${spring.datasource.url}") String datasourceUrl) {
+        this.onConflictSupported = datasourceUrl.startsWith("jdbc:postgresql:");
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Function to insert the row unless a row with the same key exists.
+     *
+     * @param insertOnConflictDoNothing insert skipping the duplicate key, used on PostgreSQL
+     * @param insert plain insert failing on the duplicate key, used on other databases
+     * @return true if the row was inserted by this call
+     */
+    public boolean insertIfAbsent(IntSupplier insertOnConflictDoNothing, IntSupplier insert) {
+        if (onConflictSupported) {
+            return insertOnConflictDoNothing.getAsInt() > 0;
+        }
+        try {
+            return Boolean.TRUE.equals(newTransaction.execute(status -> insert.getAsInt() > 0));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+}
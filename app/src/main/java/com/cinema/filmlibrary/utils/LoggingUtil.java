@@ -0,0 +1,110 @@
+package com.cinema.filmlibrary.utils;
+
+import com.cinema.filmlibrary.config.TracingProperties;
+import jakarta.persistence.Entity;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+/** Class to create logs of method calls.
+ * Successful calls are sampled and logged in one line with duration and short
+ * description of the result, failures are always logged. Every class logs
+ * through logger trace.&lt;class name&gt;, which is written asynchronously.
+ */
+public class LoggingUtil implements MethodInterceptor {
+    private static final String LOGGER_PREFIX = "trace.";
+
+    private final TracingProperties properties;
+    private final Map<Method, TracedMethod> methods = new ConcurrentHashMap<>();
+
+    private record TracedMethod(Logger logger, String name) {
+    }
+
+    /** Constructor of the class. */
+    public LoggingUtil(TracingProperties properties) {
+        this.properties = properties;
+    }
+
+    /** Function to log method call. */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        TracedMethod method = methods.computeIfAbsent(invocation.getMethod(),
+                LoggingUtil::describe);
+        Logger logger = method.logger();
+        boolean sampled = logger.isInfoEnabled() && isSampled();
+        if (sampled && logger.isDebugEnabled()) {
+            logger.debug("Executing: {}", method.name());
+        }
+
+        long start = sampled ? System.nanoTime() : 0;
+        try {
+            Object result = invocation.proceed();
+            if (sampled) {
+                logger.info("Executed: {} in {} us with result: {}", method.name(),
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                        describe(result, properties.getMaxResultLength()));
+            }
+            return result;
+        } catch (Throwable error) {
+            if (logger.isErrorEnabled()) {
+                logger.error("Exception in: {} with cause: {}", method.name(),
+                        error.getMessage());
+            }
+            throw error;
+        }
+    }
+
+    private boolean isSampled() {
+        double rate = properties.getSampleRate();
+        return rate >= 1.0 || rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static TracedMethod describe(Method method) {
+        Class<?> type = method.getDeclaringClass();
+        return new TracedMethod(LoggerFactory.getLogger(LOGGER_PREFIX + type.getName()),
+                type.getSimpleName() + "." + method.getName() + "(..)");
+    }
+
+    /** Function to describe value without loading lazy data or building huge strings.
+     *
+     * @param value value to describe
+     * @param maxLength maximum length of description
+     * @return short description of the value
+     */
+    static String describe(Object value, int maxLength) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof ResponseEntity<?> response) {
+            return "ResponseEntity[" + response.getStatusCode() + ", "
+                    + describe(response.getBody(), maxLength) + "]";
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "[size=" + collection.size() + "]";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "[size=" + map.size() + "]";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName()
+                    + "[" + Array.getLength(value) + "]";
+        }
+        Class<?> type = Hibernate.getClassLazy(value);
+        if (type.isAnnotationPresent(Entity.class)) {
+            return type.getSimpleName();
+        }
+        String text = String.valueOf(value);
+        return text.length() <= maxLength ? text
+                : text.substring(0, maxLength) + "...(" + text.length() + " chars)";
+    }
+}
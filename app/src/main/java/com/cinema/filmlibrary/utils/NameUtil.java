@@ -0,0 +1,30 @@
+package com.cinema.filmlibrary.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/** Class with helpers to compare names of people regardless of case and accents. */
+public final class NameUtil {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private NameUtil() {
+    }
+
+    /** Function to get the form of the name used for lookups.
+     * Accents are removed, letters are lower-cased and spaces are collapsed,
+     * so "Pedro  Almodóvar" and "pedro almodovar" have the same key.
+     *
+     * @param name name to normalize
+     * @return normalized name, empty if name is null
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        String folded = MARKS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(folded.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
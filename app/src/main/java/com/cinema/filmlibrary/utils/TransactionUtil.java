@@ -0,0 +1,29 @@
+package com.cinema.filmlibrary.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Class with helpers for actions bound to the current transaction. */
+public final class TransactionUtil {
+
+    private TransactionUtil() {
+    }
+
+    /** Function to run action after the current transaction commits.
+     * If there is no active transaction the action runs immediately.
+     *
+     * @param action action to run
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
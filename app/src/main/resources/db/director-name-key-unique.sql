@@ -0,0 +1,32 @@
+-- One-time migration of a PostgreSQL database created while normalized names of
+-- directors were not unique. Directors with the same name key are merged into the one
+-- with the smallest id, their films are moved to it, then the index is made unique.
+-- Directors without a key get it on start of the application, a director whose key
+-- is already taken keeps it empty and is reported in the log.
+-- Run it once with all instances stopped: psql -f director-name-key-unique.sql <database>
+
+BEGIN;
+
+CREATE TEMPORARY TABLE director_duplicate ON COMMIT DROP AS
+SELECT director.id, kept.id AS kept_id
+FROM director
+JOIN (SELECT name_key, MIN(id) AS id FROM director
+      WHERE name_key IS NOT NULL GROUP BY name_key HAVING COUNT(*) > 1) kept
+  ON kept.name_key = director.name_key
+WHERE director.id <> kept.id;
+
+INSERT INTO film_director (film_id, director_id)
+SELECT DISTINCT film_director.film_id, duplicate.kept_id
+FROM film_director
+JOIN director_duplicate duplicate ON duplicate.id = film_director.director_id
+WHERE NOT EXISTS (SELECT 1 FROM film_director existing
+                  WHERE existing.film_id = film_director.film_id
+                    AND existing.director_id = duplicate.kept_id);
+
+DELETE FROM film_director WHERE director_id IN (SELECT id FROM director_duplicate);
+DELETE FROM director WHERE id IN (SELECT id FROM director_duplicate);
+
+DROP INDEX IF EXISTS idx_director_name_key;
+CREATE UNIQUE INDEX idx_director_name_key ON director (name_key);
+
+COMMIT;
@@ -0,0 +1,21 @@
+-- One-time migration of a PostgreSQL database created while film, director and review
+-- ids were IDENTITY columns. Ids now come from sequences with allocation size 50,
+-- so every sequence is moved to the current max id before the new version starts.
+-- Hibernate takes a block of 50 ids ending at the next sequence value.
+-- Run it once with all instances stopped: psql -f identity-to-sequences.sql <database>
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS film_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS director_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS review_seq INCREMENT BY 50;
+
+SELECT setval('film_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM film), 1));
+SELECT setval('director_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM director), 1));
+SELECT setval('review_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM review), 1));
+
+ALTER TABLE film ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE director ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE review ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+COMMIT;
@@ -0,0 +1,103 @@
+package com.cinema.filmlibrary.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cinema.filmlibrary.dto.TaggedDto;
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.entity.Review;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CacheDependencyTrackerTest {
+    private final CacheDependencyTracker tracker = new CacheDependencyTracker();
+
+    @Test
+    void recordIndexesEntryByFilmsDirectorsAndCache() {
+        tracker.record("films", "key", List.of(film(1L, director(10L)), film(2L)));
+
+        CacheDependencyTracker.EntryRef ref = new CacheDependencyTracker.EntryRef("films", "key");
+        assertEquals(Set.of(ref), tracker.entriesWithFilm(1L));
+        assertEquals(Set.of(ref), tracker.entriesWithFilm(2L));
+        assertEquals(List.of("key"), tracker.keys("films"));
+        assertTrue(tracker.keys("other").isEmpty());
+    }
+
+    @Test
+    void recordReplacesDependenciesOfTheSameEntry() {
+        tracker.record("films", "key", film(1L));
+        tracker.record("films", "key", film(2L));
+
+        assertTrue(tracker.entriesWithFilm(1L).isEmpty());
+        assertEquals(1, tracker.entriesWithFilm(2L).size());
+        assertEquals(List.of("key"), tracker.keys("films"));
+    }
+
+    @Test
+    void recordIndexesDataOfTaggedValue() {
+        tracker.record("reviews", 1L, new TaggedDto<>("\"reviews-1-0.0\"", List.of(review(1L))));
+
+        assertEquals(Set.of(new CacheDependencyTracker.EntryRef("reviews", 1L)),
+                tracker.entriesWithFilm(1L));
+    }
+
+    @Test
+    void forgetRemovesEntryFromAllIndexes() {
+        tracker.record("films", "key", film(1L));
+        tracker.forget("films", "key");
+
+        assertTrue(tracker.entriesWithFilm(1L).isEmpty());
+        assertTrue(tracker.keys("films").isEmpty());
+    }
+
+    @Test
+    void forgetAllRemovesOnlyEntriesOfTheCache() {
+        tracker.record("films", 1L, film(1L));
+        tracker.record("films", 2L, film(2L));
+        tracker.record("reviews", 1L, review(1L));
+
+        tracker.forgetAll("films");
+
+        assertTrue(tracker.keys("films").isEmpty());
+        assertTrue(tracker.entriesWithFilm(2L).isEmpty());
+        assertEquals(Set.of(new CacheDependencyTracker.EntryRef("reviews", 1L)),
+                tracker.entriesWithFilm(1L));
+    }
+
+    @Test
+    void tagsOfDirectorIncludeItsFilms() {
+        Director director = director(10L);
+        director.setFilms(List.of(film(1L), film(2L)));
+
+        assertEquals(Set.of(CacheDependencyTracker.directorTag(10L),
+                        CacheDependencyTracker.filmTag(1L), CacheDependencyTracker.filmTag(2L)),
+                CacheDependencyTracker.tagsOf(director));
+    }
+
+    @Test
+    void tagsOfReviewPointToItsFilm() {
+        assertEquals(Set.of(CacheDependencyTracker.filmTag(5L)),
+                CacheDependencyTracker.tagsOf(List.of(review(5L))));
+    }
+
+    private static Film film(Long id, Director... directors) {
+        Film film = new Film();
+        film.setId(id);
+        film.setDirectors(List.of(directors));
+        return film;
+    }
+
+    private static Director director(Long id) {
+        Director director = new Director();
+        director.setId(id);
+        return director;
+    }
+
+    private static Review review(Long filmId) {
+        Review review = new Review();
+        review.setFilm(film(filmId));
+        return review;
+    }
+}
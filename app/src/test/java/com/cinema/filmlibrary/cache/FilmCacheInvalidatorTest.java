@@ -0,0 +1,144 @@
+package com.cinema.filmlibrary.cache;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cinema.filmlibrary.config.CacheConfig;
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.entity.Film;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+class FilmCacheInvalidatorTest {
+    private final CacheDependencyTracker tracker = new CacheDependencyTracker();
+    private SimpleCacheManager cacheManager;
+    private FilmCacheInvalidator invalidator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                trackedCache(CacheConfig.FILM_BY_ID_CACHE),
+                trackedCache(CacheConfig.FILM_BY_TITLE_CACHE),
+                trackedCache(CacheConfig.FILMS_BY_DIRECTOR_CACHE),
+                trackedCache(CacheConfig.FILMS_BY_REVIEW_COUNT_CACHE),
+                trackedCache(CacheConfig.ALL_FILMS_CACHE),
+                trackedCache(CacheConfig.DIRECTORS_CACHE),
+                trackedCache(CacheConfig.REVIEWS_CACHE)));
+        cacheManager.afterPropertiesSet();
+        invalidator = new FilmCacheInvalidator(cacheManager, tracker,
+                mock(ObjectProvider.class));
+    }
+
+    @Test
+    void filmChangeEvictsOnlyEntriesContainingTheFilm() {
+        Film film = film(1L, "The Matrix", director(10L, "Lana Wachowski"));
+        Film other = film(2L, "Alien", director(20L, "Ridley Scott"));
+        cache(CacheConfig.FILM_BY_ID_CACHE).put(1L, film);
+        cache(CacheConfig.FILM_BY_ID_CACHE).put(2L, other);
+        cache(CacheConfig.FILMS_BY_DIRECTOR_CACHE).put("lana wachowski", List.of(film));
+        cache(CacheConfig.FILMS_BY_DIRECTOR_CACHE).put("ridley scott", List.of(other));
+        cache(CacheConfig.FILM_BY_TITLE_CACHE).put("matrix_10", List.of(film));
+        cache(CacheConfig.FILM_BY_TITLE_CACHE).put("alien_10", List.of(other));
+        cache(CacheConfig.ALL_FILMS_CACHE).put("all", List.of(film, other));
+
+        invalidator.filmChanged(film);
+
+        assertNull(cache(CacheConfig.FILM_BY_ID_CACHE).get(1L));
+        assertNull(cache(CacheConfig.FILMS_BY_DIRECTOR_CACHE).get("lana wachowski"));
+        assertNull(cache(CacheConfig.FILM_BY_TITLE_CACHE).get("matrix_10"));
+        assertNull(cache(CacheConfig.ALL_FILMS_CACHE).get("all"));
+        assertNotNull(cache(CacheConfig.FILM_BY_ID_CACHE).get(2L));
+        assertNotNull(cache(CacheConfig.FILMS_BY_DIRECTOR_CACHE).get("ridley scott"));
+        assertNotNull(cache(CacheConfig.FILM_BY_TITLE_CACHE).get("alien_10"));
+    }
+
+    @Test
+    void newTitleEvictsQueriesThatNowMatchIt() {
+        cache(CacheConfig.FILM_BY_TITLE_CACHE).put("matr_10", List.of());
+
+        invalidator.filmChanged(film(3L, "The Matrix Reloaded"));
+
+        assertNull(cache(CacheConfig.FILM_BY_TITLE_CACHE).get("matr_10"));
+    }
+
+    @Test
+    void reviewsChangeEvictsThresholdsBelowNewCount() {
+        cache(CacheConfig.FILMS_BY_REVIEW_COUNT_CACHE).put(2L, List.of());
+        cache(CacheConfig.FILMS_BY_REVIEW_COUNT_CACHE).put(5L, List.of());
+        cache(CacheConfig.REVIEWS_CACHE).put(1L, List.of());
+
+        invalidator.reviewsChanged(1L, 3);
+
+        assertNull(cache(CacheConfig.FILMS_BY_REVIEW_COUNT_CACHE).get(2L));
+        assertNotNull(cache(CacheConfig.FILMS_BY_REVIEW_COUNT_CACHE).get(5L));
+        assertNull(cache(CacheConfig.REVIEWS_CACHE).get(1L));
+    }
+
+    @Test
+    void directorChangeEvictsEntriesWithTheDirector() {
+        Director director = director(10L, "Lana Wachowski");
+        cache(CacheConfig.DIRECTORS_CACHE).put(10L, director);
+        cache(CacheConfig.DIRECTORS_CACHE).put(20L, director(20L, "Ridley Scott"));
+
+        invalidator.directorChanged(10L, List.of(), List.of("Lana Wachowski"));
+
+        assertNull(cache(CacheConfig.DIRECTORS_CACHE).get(10L));
+        assertNotNull(cache(CacheConfig.DIRECTORS_CACHE).get(20L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failingSharedStoreDoesNotStopLocalEviction() {
+        SharedCacheStore sharedStore = mock(SharedCacheStore.class);
+        RuntimeException error = new IllegalStateException("connection refused");
+        when(sharedStore.entriesWithTag(any())).thenThrow(error);
+        when(sharedStore.keys(any())).thenThrow(error);
+        doThrow(error).when(sharedStore).publish(any());
+        ObjectProvider<SharedCacheStore> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(sharedStore);
+        invalidator = new FilmCacheInvalidator(cacheManager, tracker, provider);
+        Film film = film(1L, "Alien");
+        cache(CacheConfig.FILM_BY_ID_CACHE).put(1L, film);
+        cache(CacheConfig.FILM_BY_TITLE_CACHE).put("alien_10", List.of(film));
+
+        invalidator.filmChanged(film);
+
+        assertNull(cache(CacheConfig.FILM_BY_ID_CACHE).get(1L));
+        assertNull(cache(CacheConfig.FILM_BY_TITLE_CACHE).get("alien_10"));
+    }
+
+    private Cache trackedCache(String name) {
+        return new DependencyTrackingCache(new ConcurrentMapCache(name), tracker);
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    private static Film film(Long id, String title, Director... directors) {
+        Film film = new Film();
+        film.setId(id);
+        film.setTitle(title);
+        film.setDirectors(List.of(directors));
+        film.setReviews(List.of());
+        return film;
+    }
+
+    private static Director director(Long id, String name) {
+        Director director = new Director();
+        director.setId(id);
+        director.setName(name);
+        return director;
+    }
+}
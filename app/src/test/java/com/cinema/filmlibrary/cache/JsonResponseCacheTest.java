@@ -0,0 +1,70 @@
+package com.cinema.filmlibrary.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.cinema.filmlibrary.controller.FilmController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+class JsonResponseCacheTest {
+    private static final String TAG = "\"films-7\"";
+
+    private final JsonResponseCache cache = new JsonResponseCache(
+            new ConcurrentMapCacheManager("films"), new ObjectMapper(), 0);
+
+    @Test
+    void cachedResponseKeepsTagAndCursorOfTheLoadedData() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("films", "key", null, () -> {
+            loads.incrementAndGet();
+            return response();
+        });
+
+        ResponseEntity<byte[]> response = cache.get("films", "key", null, () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.ok().eTag("\"films-8\"").body(List.of());
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals(TAG, response.getHeaders().getETag());
+        assertEquals("3", response.getHeaders().getFirst(FilmController.NEXT_CURSOR_HEADER));
+        assertArrayEquals("[1,2,3]".getBytes(StandardCharsets.UTF_8), response.getBody());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void gzippedBodyHasItsOwnTagAndVariesByEncoding() {
+        ResponseEntity<byte[]> plain = cache.get("films", "key", "br", this::response);
+        ResponseEntity<byte[]> gzipped = cache.get("films", "key", "gzip, br", this::response);
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"films-7-gzip\"", gzipped.getHeaders().getETag());
+        assertEquals(JsonResponseCache.gzipTag(TAG), gzipped.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), gzipped.getHeaders().getVary());
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), plain.getHeaders().getVary());
+        assertEquals(TAG, plain.getHeaders().getETag());
+    }
+
+    @Test
+    void gzipWithZeroQualityIsNotSent() {
+        ResponseEntity<byte[]> response = cache.get("films", "key", "gzip;q=0", this::response);
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(TAG, response.getHeaders().getETag());
+    }
+
+    private ResponseEntity<?> response() {
+        return ResponseEntity.ok()
+                .eTag(TAG)
+                .header(FilmController.NEXT_CURSOR_HEADER, "3")
+                .body(List.of(1, 2, 3));
+    }
+}
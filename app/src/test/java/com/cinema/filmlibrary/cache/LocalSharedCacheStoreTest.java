@@ -0,0 +1,103 @@
+package com.cinema.filmlibrary.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class LocalSharedCacheStoreTest {
+    private final LocalSharedCacheStore store = new LocalSharedCacheStore();
+
+    @Test
+    void getReturnsCopyOfStoredValue() {
+        List<String> value = new ArrayList<>(List.of("Alien"));
+        store.put("films", 1L, value, Set.of(), null);
+        value.add("Heat");
+
+        Object stored = store.get("films", 1L);
+        assertEquals(List.of("Alien"), stored);
+        assertNotSame(stored, store.get("films", 1L));
+        assertNull(store.get("films", 2L));
+        assertNull(store.get("other", 1L));
+    }
+
+    @Test
+    void evictRemovesEntryFromKeysAndTags() {
+        store.put("films", 1L, "Alien", Set.of("film:1", "director:10"), null);
+        store.put("films", 2L, "Heat", Set.of("film:2", "director:10"), null);
+
+        store.evict("films", 1L);
+
+        assertNull(store.get("films", 1L));
+        assertEquals(Set.of(2L), store.keys("films"));
+        assertTrue(store.entriesWithTag("film:1").isEmpty());
+        assertEquals(Set.of(new CacheDependencyTracker.EntryRef("films", 2L)),
+                store.entriesWithTag("director:10"));
+    }
+
+    @Test
+    void putReplacesTagsOfTheEntry() {
+        store.put("films", 1L, "Alien", Set.of("director:10"), null);
+        store.put("films", 1L, "Alien", Set.of("director:20"), null);
+
+        assertTrue(store.entriesWithTag("director:10").isEmpty());
+        assertEquals(Set.of(new CacheDependencyTracker.EntryRef("films", 1L)),
+                store.entriesWithTag("director:20"));
+    }
+
+    @Test
+    void clearRemovesOnlyEntriesOfTheCache() {
+        store.put("films", 1L, "Alien", Set.of("film:1"), null);
+        store.put("reviews", 1L, "Great", Set.of("film:1"), null);
+
+        store.clear("films");
+
+        assertTrue(store.keys("films").isEmpty());
+        assertEquals("Great", store.get("reviews", 1L));
+        assertEquals(Set.of(new CacheDependencyTracker.EntryRef("reviews", 1L)),
+                store.entriesWithTag("film:1"));
+    }
+
+    @Test
+    void putWithGenerationBeforeEvictionIsIgnored() {
+        long generation = store.generation();
+        store.clear("reviews");
+
+        assertFalse(store.put("films", 1L, "Alien", Set.of("film:1"), null, generation));
+        assertNull(store.get("films", 1L));
+        assertTrue(store.put("films", 1L, "Alien", Set.of("film:1"), null, store.generation()));
+        assertEquals("Alien", store.get("films", 1L));
+    }
+
+    @Test
+    void expiredEntryIsNotReturned() {
+        store.put("films", 1L, "Alien", Set.of("film:1"), Duration.ZERO);
+        store.put("films", 2L, "Heat", Set.of(), Duration.ofMinutes(10));
+
+        assertEquals(Set.of(2L), store.keys("films"));
+        assertNull(store.get("films", 1L));
+        assertTrue(store.entriesWithTag("film:1").isEmpty());
+    }
+
+    @Test
+    void publishDeliversCopyToEveryListener() {
+        List<Object> first = new ArrayList<>();
+        List<Object> second = new ArrayList<>();
+        store.subscribe(first::add);
+        store.subscribe(second::add);
+        ArrayList<String> message = new ArrayList<>(List.of("event"));
+
+        store.publish(message);
+
+        assertEquals(List.of(message), first);
+        assertEquals(List.of(message), second);
+        assertNotSame(message, first.get(0));
+    }
+}
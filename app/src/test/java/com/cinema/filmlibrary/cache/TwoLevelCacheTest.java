@@ -0,0 +1,78 @@
+package com.cinema.filmlibrary.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class TwoLevelCacheTest {
+    private final ConcurrentMapCache local = new ConcurrentMapCache("films");
+    private final LocalSharedCacheStore shared = new LocalSharedCacheStore();
+    private final TwoLevelCache cache = new TwoLevelCache(local, shared, Duration.ofMinutes(1));
+
+    @Test
+    void localMissIsReadFromSharedStore() {
+        shared.put("films", 1L, "Alien", Set.of(), null);
+
+        assertEquals("Alien", cache.get(1L, String.class));
+        assertEquals("Alien", local.get(1L, String.class));
+    }
+
+    @Test
+    void loadedValueIsWrittenToBothLevels() {
+        assertEquals("Heat", cache.get(2L, () -> "Heat"));
+
+        assertEquals("Heat", local.get(2L, String.class));
+        assertEquals("Heat", shared.get("films", 2L));
+    }
+
+    @Test
+    void valueLoadedDuringEvictionIsKeptOnlyLocally() {
+        assertEquals("Alien", cache.get(3L, () -> {
+            shared.evict("films", 4L);
+            return "Alien";
+        }));
+
+        assertEquals("Alien", local.get(3L, String.class));
+        assertNull(shared.get("films", 3L));
+    }
+
+    @Test
+    void evictLocalKeepsSharedEntry() {
+        cache.put(1L, "Alien");
+        cache.evictLocal(1L);
+
+        assertNull(local.get(1L));
+        assertEquals("Alien", shared.get("films", 1L));
+    }
+
+    @Test
+    void failingSharedStoreFallsBackToLocalCacheAndLoader() {
+        SharedCacheStore failing = mock(SharedCacheStore.class);
+        RuntimeException error = new IllegalStateException("connection refused");
+        when(failing.get(any(), any())).thenThrow(error);
+        when(failing.generation()).thenThrow(error);
+        when(failing.put(any(), any(), any(), any(), any(), anyLong())).thenThrow(error);
+        doThrow(error).when(failing).evict(any(), any());
+        doThrow(error).when(failing).clear(any());
+        TwoLevelCache failingCache = new TwoLevelCache(new ConcurrentMapCache("films"), failing,
+                Duration.ofMinutes(1));
+
+        assertNull(failingCache.get(1L));
+        assertEquals("Alien", failingCache.get(1L, () -> "Alien"));
+        assertEquals("Alien", failingCache.get(1L, String.class));
+        failingCache.put(2L, "Heat");
+        failingCache.evict(1L);
+        failingCache.clear();
+
+        assertNull(failingCache.get(2L));
+    }
+}
@@ -0,0 +1,80 @@
+package com.cinema.filmlibrary.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cinema.filmlibrary.repository.DirectorRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DirectorNameIndexTest {
+    private final DirectorRepository directorRepository = mock(DirectorRepository.class);
+    private final DirectorNameIndex index = new DirectorNameIndex(directorRepository);
+
+    @Test
+    void findIgnoresCaseAccentsAndSpaces() {
+        index.put(1L, "Pedro Almodóvar");
+
+        assertEquals(1L, index.find("  PEDRO   almodovar "));
+        assertNull(index.find("Pedro"));
+        assertNull(index.find(" "));
+    }
+
+    @Test
+    void searchReturnsPrefixMatchesBeforeSimilarNames() {
+        index.put(1L, "Ridley Scott");
+        index.put(2L, "Tony Scott");
+        index.put(3L, "Ridley Scot");
+        index.put(4L, "Michael Mann");
+
+        assertEquals(List.of(3L, 1L), index.search("ridley", 2, 10));
+        assertEquals(List.of(1L, 3L), index.search("Ridley Scott", 2, 10));
+        assertEquals(List.of(2L), index.search("Tonny Scot", 2, 10));
+        assertEquals(List.of(1L), index.search("Ridley Scott", 2, 1));
+    }
+
+    @Test
+    void similarNamesAreOrderedByDistance() {
+        index.put(1L, "Martin Scorsese");
+        index.put(2L, "Martin Scorsezy");
+        index.put(3L, "Martin Scorsesi");
+
+        assertEquals(List.of(1L, 2L, 3L), index.search("Martin Scorseze", 2, 10));
+        assertEquals(List.of(), index.search("Martin Scorseze", 0, 10));
+    }
+
+    @Test
+    void shortNamesWithoutCommonBigramsAreStillFound() {
+        index.put(1L, "Bo");
+        index.put(2L, "Ivo");
+
+        assertEquals(List.of(1L), index.search("Al", 2, 10));
+    }
+
+    @Test
+    void renamedAndRemovedDirectorsAreNotFoundByOldNames() {
+        index.put(1L, "Lana Wachowski");
+        index.put(1L, "Lilly Wachowski");
+        index.put(2L, "Michael Mann");
+        index.remove(2L);
+
+        assertNull(index.find("Lana Wachowski"));
+        assertEquals(List.of(1L), index.search("Lilly Wachowsky", 1, 10));
+        assertEquals(List.of(), index.search("Michael Man", 2, 10));
+    }
+
+    @Test
+    void rebuildLoadsNamesFromDatabase() {
+        index.put(9L, "Stale Name");
+        when(directorRepository.findAllNames()).thenReturn(List.<Object[]>of(
+                new Object[] {1L, "Sofia Coppola"}, new Object[] {2L, "Francis Coppola"}));
+
+        index.rebuild();
+
+        assertNull(index.find("Stale Name"));
+        assertEquals(List.of(2L), index.search("Francis Copola", 1, 10));
+        assertEquals(List.of(1L), index.search("sofia", 1, 10));
+    }
+}
@@ -0,0 +1,142 @@
+package com.cinema.filmlibrary.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cinema.filmlibrary.projection.FilmRow;
+import com.cinema.filmlibrary.repository.FilmRepository;
+import com.cinema.filmlibrary.repository.FilmReviewStatsRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class FilmFacetIndexTest {
+    private final FilmRepository filmRepository = mock(FilmRepository.class);
+    private final FilmReviewStatsRepository statsRepository = mock(FilmReviewStatsRepository.class);
+    private final FilmFacetIndex index = new FilmFacetIndex(filmRepository, statsRepository);
+
+    @Test
+    void searchCombinesFiltersAndCountsFacets() {
+        index.put(1L, facets("Horror", 1979, 10L, "Ridley Scott"));
+        index.put(2L, facets("Crime", 1995, 20L, "Michael Mann"));
+        index.put(3L, facets(" horror ", 1982, 10L, "Ridley Scott"));
+        index.put(4L, facets("Horror", 2012, 10L, "Ridley Scott"));
+
+        FilmFacetIndex.Result result = index.search(new FilmFacetIndex.Query("HORROR",
+                1970, 1989, "ridley  scott", null, null), 0, 10);
+
+        assertEquals(2, result.total());
+        assertEquals(List.of(1L, 3L), result.filmIds());
+        assertEquals(Map.of("Horror", 2L), result.genres());
+        assertEquals(Map.of("1970s", 1L, "1980s", 1L, "2010s", 1L), result.decades());
+    }
+
+    @Test
+    void minRatingSkipsFilmsWithoutReviews() {
+        index.put(1L, facets("Horror", 1979));
+        index.put(2L, facets("Horror", 1982));
+        index.put(3L, facets("Horror", 1986));
+        index.rate(1L, 8.0, 3);
+        index.rate(2L, 5.0, 1);
+
+        assertEquals(List.of(1L), search(new FilmFacetIndex.Query(null, null, null, null,
+                7.0, null), 0, 10));
+    }
+
+    @Test
+    void rateOfUnknownFilmDoesNotAddIt() {
+        index.put(1L, facets("Horror", 1979));
+
+        index.rate(2L, 9.0, 1);
+        index.remove(1L);
+        index.rate(1L, 9.0, 1);
+
+        assertEquals(0, index.search(all(), 0, 10).total());
+    }
+
+    @Test
+    void pagesFollowIdsAfterPreviousPage() {
+        LongStream.rangeClosed(1, 7).forEach(id -> index.put(id, facets("Drama", 2000)));
+        index.remove(3L);
+
+        assertEquals(List.of(1L, 2L, 4L), search(all(), 0, 3));
+        assertEquals(List.of(5L, 6L, 7L), search(all(), 4, 3));
+        assertEquals(List.of(), search(all(), 7, 3));
+    }
+
+    @Test
+    void filmsWithSmallerIdsArrivingLaterKeepIdOrder() {
+        index.put(51L, facets("Drama", 2000, 10L, "Ridley Scott"));
+        index.put(52L, facets("Horror", 2001));
+        index.put(2L, facets("Drama", 2002, 10L, "Ridley Scott"));
+        index.put(1L, facets("Drama", 2003));
+        index.rate(2L, 7.0, 1);
+
+        assertEquals(List.of(1L, 2L, 51L, 52L), search(all(), 0, 10));
+        assertEquals(List.of(2L, 51L), search(new FilmFacetIndex.Query("drama", null, null,
+                "Ridley Scott", null, null), 0, 10));
+        assertEquals(List.of(2L), search(new FilmFacetIndex.Query(null, 2002, 2002, null,
+                6.0, null), 0, 10));
+        assertEquals(List.of(51L, 52L), search(all(), 2, 10));
+    }
+
+    @Test
+    void manyRemovedFilmsDoNotChangeResults() {
+        LongStream.rangeClosed(1, 3000).forEach(id -> index.put(id, facets("Drama", 2000)));
+        LongStream.rangeClosed(1, 2990).forEach(index::remove);
+
+        FilmFacetIndex.Result result = index.search(all(), 2995, 10);
+        assertEquals(10, result.total());
+        assertEquals(List.of(2996L, 2997L, 2998L, 2999L, 3000L), result.filmIds());
+    }
+
+    @Test
+    void titleMatchesAndDirectorChangesAreApplied() {
+        index.put(1L, facets("Drama", 2000));
+        index.put(2L, facets("Drama", 2001));
+        index.addDirector(2L, 30L, "Pedro Almodóvar");
+
+        assertEquals(List.of(2L), search(new FilmFacetIndex.Query(null, null, null,
+                "pedro almodovar", null, null), 0, 10));
+        index.renameDirector(30L, "P. Almodovar");
+        assertEquals(List.of(2L), search(new FilmFacetIndex.Query(null, null, null,
+                "p. almodovar", null, null), 0, 10));
+        assertEquals(List.of(1L), search(new FilmFacetIndex.Query(null, null, null, null,
+                null, List.of(1L, 99L)), 0, 10));
+    }
+
+    @Test
+    void rebuildReplacesIndexWithStoredFilmsAndRatings() {
+        index.put(99L, facets("Comedy", 1990));
+        when(filmRepository.findAllRows()).thenReturn(List.of(
+                new FilmRow(1L, "Alien", "Horror", 1979, 10L, "Ridley Scott", null, 0),
+                new FilmRow(2L, "Heat", "Crime", 1995, null, null, null, 0)));
+        when(statsRepository.findRankings()).thenReturn(List.<Object[]>of(
+                new Object[] {1L, "Alien", "Horror", 4L, 8.5, 1L}));
+
+        index.rebuild();
+
+        assertEquals(List.of(1L, 2L), search(all(), 0, 10));
+        assertEquals(List.of(1L), search(new FilmFacetIndex.Query(null, null, null,
+                "Ridley Scott", 8.0, null), 0, 10));
+    }
+
+    private List<Long> search(FilmFacetIndex.Query query, long after, int limit) {
+        return index.search(query, after, limit).filmIds();
+    }
+
+    private static FilmFacetIndex.Query all() {
+        return new FilmFacetIndex.Query(null, null, null, null, null, null);
+    }
+
+    private static FilmFacetIndex.Facets facets(String genre, int year) {
+        return new FilmFacetIndex.Facets(genre, year, Map.of());
+    }
+
+    private static FilmFacetIndex.Facets facets(String genre, int year, Long directorId,
+                                                String director) {
+        return new FilmFacetIndex.Facets(genre, year, Map.of(directorId, director));
+    }
+}
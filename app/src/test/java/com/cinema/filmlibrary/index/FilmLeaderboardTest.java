@@ -0,0 +1,85 @@
+package com.cinema.filmlibrary.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cinema.filmlibrary.repository.FilmReviewStatsRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FilmLeaderboardTest {
+    private final FilmReviewStatsRepository statsRepository = mock(FilmReviewStatsRepository.class);
+    private final FilmLeaderboard leaderboard = new FilmLeaderboard(statsRepository);
+
+    @Test
+    void updateOrdersFilmsByRatingAndByReviews() {
+        leaderboard.update(1L, "Alien", "Horror", 10, 7.0, 1);
+        leaderboard.update(2L, "Heat", "Crime", 3, 9.0, 1);
+
+        assertEquals(List.of(2L, 1L), ids(FilmLeaderboard.Ranking.RATING, null, 0));
+        assertEquals(List.of(1L, 2L), ids(FilmLeaderboard.Ranking.REVIEWS, null, 0));
+        assertEquals(List.of(1L), ids(FilmLeaderboard.Ranking.RATING, " horror ", 0));
+        assertEquals(List.of(1L), ids(FilmLeaderboard.Ranking.RATING, null, 5));
+    }
+
+    @Test
+    void updateIgnoresOlderVersion() {
+        leaderboard.update(1L, "Alien", "Horror", 2, 8.0, 5);
+        leaderboard.update(1L, "Alien", "Horror", 1, 6.0, 4);
+
+        FilmLeaderboard.Entry entry = leaderboard.top(FilmLeaderboard.Ranking.RATING,
+                null, 0, 10).get(0);
+        assertEquals(2, entry.reviewCount());
+        assertEquals(8.0, entry.averageRating());
+    }
+
+    @Test
+    void updateWithoutReviewsRemovesFilm() {
+        leaderboard.update(1L, "Alien", "Horror", 1, 8.0, 1);
+        leaderboard.update(1L, "Alien", "Horror", 0, 0, 2);
+
+        assertTrue(ids(FilmLeaderboard.Ranking.RATING, null, 0).isEmpty());
+        assertTrue(ids(FilmLeaderboard.Ranking.RATING, "Horror", 0).isEmpty());
+    }
+
+    @Test
+    void removedFilmIsNotBroughtBackByLateUpdate() {
+        leaderboard.update(1L, "Alien", "Horror", 1, 8.0, 1);
+        leaderboard.remove(1L);
+        leaderboard.update(1L, "Alien", "Horror", 2, 7.0, 2);
+
+        assertTrue(ids(FilmLeaderboard.Ranking.RATING, null, 0).isEmpty());
+    }
+
+    @Test
+    void renameMovesFilmToNewGenreAndKeepsStatistics() {
+        leaderboard.update(1L, "Alien", "Horror", 4, 8.0, 1);
+        leaderboard.rename(1L, "Aliens", "Action");
+        leaderboard.rename(2L, "Heat", "Crime");
+
+        assertTrue(ids(FilmLeaderboard.Ranking.RATING, "Horror", 0).isEmpty());
+        FilmLeaderboard.Entry entry = leaderboard.top(FilmLeaderboard.Ranking.RATING,
+                "Action", 0, 10).get(0);
+        assertEquals(new FilmLeaderboard.Entry(1L, "Aliens", "Action", 4, 8.0), entry);
+        assertEquals(List.of(1L), ids(FilmLeaderboard.Ranking.RATING, null, 0));
+    }
+
+    @Test
+    void rebuildLoadsRankingsWithVersions() {
+        when(statsRepository.findRankings()).thenReturn(List.<Object[]>of(
+                new Object[] {1L, "Alien", "Horror", 3L, 7.5, 6L}));
+        leaderboard.rebuild();
+        leaderboard.update(1L, "Alien", "Horror", 2, 9.0, 5);
+
+        assertEquals(3, leaderboard.top(FilmLeaderboard.Ranking.RATING, null, 0, 10)
+                .get(0).reviewCount());
+    }
+
+    private List<Long> ids(FilmLeaderboard.Ranking ranking, String genre, long minReviews) {
+        return leaderboard.top(ranking, genre, minReviews, 10).stream()
+                .map(FilmLeaderboard.Entry::filmId)
+                .toList();
+    }
+}
@@ -0,0 +1,96 @@
+package com.cinema.filmlibrary.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.cinema.filmlibrary.dto.ChangeBatchDto;
+import com.cinema.filmlibrary.dto.ChangeEventDto;
+import com.cinema.filmlibrary.entity.ChangeEvent;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "app.changes.heartbeat-interval=200ms")
+@AutoConfigureMockMvc
+@TestPropertySource("classpath:test-database.properties")
+class ChangeFeedPublisherTest {
+    private static final long TIMEOUT_MS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void waitingPollGetsChangeCommittedLater() throws Exception {
+        long latest = changeFeedService.latestSeq();
+        MvcResult result = mockMvc.perform(get("/changes")
+                        .param("since", String.valueOf(latest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        record(10L);
+
+        ChangeBatchDto batch = (ChangeBatchDto) result.getAsyncResult(TIMEOUT_MS);
+        assertEquals(List.of(latest + 1),
+                batch.getEvents().stream().map(ChangeEventDto::getSeq).toList());
+        assertEquals(latest + 1, batch.getNext());
+    }
+
+    @Test
+    void streamGetsChangesInOrderWithIdsToResumeAfter() throws Exception {
+        long latest = changeFeedService.latestSeq();
+        MvcResult result = mockMvc.perform(get("/changes/stream")
+                        .param("since", String.valueOf(latest))
+                        .param("limit", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        record(11L);
+        record(12L);
+
+        String first = "id:" + (latest + 1) + "\n";
+        String second = "id:" + (latest + 2) + "\n";
+        String content = awaitContent(result, second);
+        assertTrue(content.contains("event:changes"));
+        assertTrue(content.contains(first));
+        assertTrue(content.indexOf(first) < content.indexOf(second));
+    }
+
+    @Test
+    void idleStreamGetsHeartbeat() throws Exception {
+        MvcResult result = mockMvc.perform(get("/changes/stream")
+                        .param("since", String.valueOf(changeFeedService.latestSeq())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertTrue(awaitContent(result, ":heartbeat").contains(":heartbeat"));
+    }
+
+    private void record(Long filmId) {
+        transactionTemplate.executeWithoutResult(status -> changeFeedService.record(
+                ChangeEvent.EntityType.FILM, ChangeEvent.Operation.UPDATED, filmId, filmId));
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
@@ -0,0 +1,91 @@
+package com.cinema.filmlibrary.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cinema.filmlibrary.dto.ChangeBatchDto;
+import com.cinema.filmlibrary.dto.ChangeEventDto;
+import com.cinema.filmlibrary.entity.ChangeEvent;
+import com.cinema.filmlibrary.exception.ResponseStatusException;
+import com.cinema.filmlibrary.repository.ChangeEventRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@TestPropertySource("classpath:test-database.properties")
+class ChangeFeedServiceTest {
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void changesAreNumberedInOrderOfCommitsAndWrittenOnce() {
+        long base = changeFeedService.latestSeq();
+
+        record(ChangeEvent.Operation.CREATED, 1L, ChangeEvent.Operation.UPDATED, 1L,
+                ChangeEvent.Operation.CREATED, 1L);
+        record(ChangeEvent.Operation.DELETED, 2L);
+
+        ChangeBatchDto batch = changeFeedService.findAfter(base, 10);
+        assertEquals(List.of(base + 1, base + 2, base + 3),
+                batch.getEvents().stream().map(ChangeEventDto::getSeq).toList());
+        assertEquals(List.of("CREATED", "UPDATED", "DELETED"),
+                batch.getEvents().stream().map(ChangeEventDto::getOperation).toList());
+        assertEquals(base + 3, batch.getNext());
+        assertEquals(base + 3, changeFeedService.latestSeq());
+    }
+
+    @Test
+    void changesAfterTheLastOneGiveEmptyBatch() {
+        long latest = changeFeedService.latestSeq();
+
+        ChangeBatchDto batch = changeFeedService.findAfter(latest, 10);
+
+        assertTrue(batch.getEvents().isEmpty());
+        assertEquals(latest, batch.getNext());
+    }
+
+    @Test
+    void purgeDeletesChangesUpToTheLastExpiredOneAndOlderNumbersAreGone() {
+        long base = changeFeedService.latestSeq();
+        record(ChangeEvent.Operation.CREATED, 3L);
+        record(ChangeEvent.Operation.CREATED, 4L);
+        record(ChangeEvent.Operation.CREATED, 5L);
+        ChangeEvent expired = changeEventRepository.findById(base + 2).orElseThrow();
+        expired.setCreatedAt(Instant.now().minus(Duration.ofDays(30)));
+        changeEventRepository.save(expired);
+
+        changeFeedService.purge();
+
+        assertEquals(base + 3, changeEventRepository.findFirstSeq());
+        changeFeedService.validate(base + 2, 10);
+        ResponseStatusException gone = assertThrows(ResponseStatusException.class,
+                () -> changeFeedService.validate(base + 1, 10));
+        assertEquals(HttpStatus.GONE, gone.getStatus());
+        assertEquals(List.of(base + 3), changeFeedService.findAfter(base + 2, 10).getEvents()
+                .stream().map(ChangeEventDto::getSeq).toList());
+    }
+
+    private void record(Object... changes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < changes.length; i += 2) {
+                changeFeedService.record(ChangeEvent.EntityType.FILM,
+                        (ChangeEvent.Operation) changes[i], (Long) changes[i + 1],
+                        (Long) changes[i + 1]);
+            }
+        });
+    }
+}
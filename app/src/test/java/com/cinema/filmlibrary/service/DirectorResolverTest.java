@@ -0,0 +1,81 @@
+package com.cinema.filmlibrary.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.repository.DirectorRepository;
+import com.cinema.filmlibrary.utils.NameUtil;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest
+@TestPropertySource("classpath:test-database.properties")
+class DirectorResolverTest {
+    private static final int THREADS = 8;
+    // Names are new in every run, even if the test context is reused
+    private static final String RUN = Long.toString(System.nanoTime(), 36);
+
+    @Autowired
+    private DirectorResolver directorResolver;
+
+    @Autowired
+    private DirectorRepository directorRepository;
+
+    @Test
+    void concurrentRequestsWithTheSameNewNameGetOneDirector() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        Set<Long> ids = new HashSet<>();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                String name = i % 2 == 0 ? "Agnès Varda " + RUN
+                        : "AGNES  VARDA " + RUN.toUpperCase();
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return directorResolver.resolveOrCreate(director(name)).getId();
+                }));
+            }
+            start.countDown();
+            for (Future<Long> result : results) {
+                ids.add(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, ids.size());
+        assertEquals(1, directorRepository.findByNameKeyIn(
+                List.of(NameUtil.normalize("Agnès Varda " + RUN))).size());
+    }
+
+    @Test
+    void newDirectorKeepsGivenDataAndIsFoundByName() {
+        Director created = directorResolver.resolveOrCreate(director("Claire Denis " + RUN));
+        Director found = directorResolver.resolveOrCreate(director("claire denis " + RUN));
+
+        assertEquals(created.getId(), found.getId());
+        assertEquals("Claire Denis " + RUN, found.getName());
+        assertEquals("French", found.getNationality());
+        assertEquals(1946, found.getBirthYear());
+    }
+
+    private static Director director(String name) {
+        Director director = new Director();
+        director.setName(name);
+        director.setNationality("French");
+        director.setBirthYear(1946);
+        return director;
+    }
+}
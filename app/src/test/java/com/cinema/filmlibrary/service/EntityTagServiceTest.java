@@ -0,0 +1,46 @@
+package com.cinema.filmlibrary.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cinema.filmlibrary.repository.CatalogVersionRepository;
+import com.cinema.filmlibrary.repository.FilmRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EntityTagServiceTest {
+    private final FilmRepository filmRepository = mock(FilmRepository.class);
+    private final EntityTagService entityTagService = new EntityTagService(
+            mock(CatalogVersionRepository.class), filmRepository);
+
+    @Test
+    void filmTagIncludesVersionOfReviews() {
+        when(filmRepository.findVersionsById(1L)).thenReturn(List.<Object[]>of(
+                new Object[] {3L, 7L, 2L}));
+
+        assertEquals("\"film-1-3.7.2\"", entityTagService.filmTag(1L));
+    }
+
+    @Test
+    void changeOfReviewsKeepsVersionOfTheFilm() {
+        entityTagService.reviewsChanged(1L);
+
+        verify(filmRepository).incrementReviewsVersion(1L);
+    }
+
+    @Test
+    void matchesAnyOfRequestedTags() {
+        String tag = "\"film-1-3.7.2\"";
+
+        assertTrue(entityTagService.matches("\"other\", " + tag, tag));
+        assertTrue(entityTagService.matches("W/" + tag, tag));
+        assertTrue(entityTagService.matches("*", tag));
+        assertFalse(entityTagService.matches("\"film-1-3.7.1\"", tag));
+        assertFalse(entityTagService.matches(null, tag));
+        assertFalse(entityTagService.matches("*", null));
+    }
+}
@@ -0,0 +1,74 @@
+package com.cinema.filmlibrary.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogExtractorTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 16);
+
+    @TempDir
+    Path directory;
+
+    private Path logFile;
+    private LogExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        logFile = directory.resolve("app.log");
+        extractor = new LogExtractor(logFile.toString(), new LogOffsetIndex(logFile.toString()));
+    }
+
+    @Test
+    void extractsLinesOfDatesWithTheirContinuationLines() throws IOException {
+        Files.writeString(logFile, "15-10-2026 23:00:00 - before\n"
+                + "16-10-2026 10:00:00 - inside\n"
+                + "java.lang.IllegalStateException: trace line\n"
+                + "17-10-2026 10:00:00 - after\n"
+                + "java.lang.IllegalStateException: other trace line\n");
+
+        assertEquals("16-10-2026 10:00:00 - inside\n"
+                + "java.lang.IllegalStateException: trace line\n", extract(DAY, DAY));
+    }
+
+    @Test
+    void keepsLinesWrittenAfterLinesOfTheNextDate() throws IOException {
+        Files.writeString(logFile, "16-10-2026 23:59:58 - inside\n"
+                + "17-10-2026 00:00:00 - after\n"
+                + "16-10-2026 23:59:59 - late\n"
+                + "17-10-2026 00:00:01 - after\n");
+
+        assertEquals("16-10-2026 23:59:58 - inside\n"
+                + "16-10-2026 23:59:59 - late\n", extract(DAY, DAY));
+    }
+
+    @Test
+    void readsRotatedArchivesBeforeMainFile() throws IOException {
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(
+                directory.resolve("app.log.2026-10-16.0.gz")))) {
+            output.write("16-10-2026 08:00:00 - archived\n".getBytes(StandardCharsets.UTF_8));
+        }
+        Files.setLastModifiedTime(directory.resolve("app.log.2026-10-16.0.gz"),
+                FileTime.fromMillis(0));
+        Files.writeString(logFile, "16-10-2026 09:00:00 - current\n");
+
+        assertEquals("16-10-2026 08:00:00 - archived\n"
+                + "16-10-2026 09:00:00 - current\n", extract(DAY, DAY));
+    }
+
+    private String extract(LocalDate from, LocalDate to) throws IOException {
+        Path target = directory.resolve("result.log");
+        extractor.extract(from, to, target);
+        return Files.readString(target).replace(System.lineSeparator(), "\n");
+    }
+}
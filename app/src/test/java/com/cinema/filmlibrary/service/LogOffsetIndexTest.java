@@ -0,0 +1,124 @@
+package com.cinema.filmlibrary.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogOffsetIndexTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 16);
+
+    private static final String FIRST_DAY = "15-10-2026 22:10:00 - first\n"
+            + "15-10-2026 23:59:59 - second\n";
+    private static final String SECOND_DAY = "16-10-2026 09:00:00 - third\n"
+            + "java.lang.IllegalStateException: trace line\n"
+            + "16-10-2026 18:30:00 - fourth\n";
+    private static final String THIRD_DAY = "17-10-2026 12:00:00 - fifth\n";
+
+    @TempDir
+    Path directory;
+
+    private Path logFile;
+
+    @BeforeEach
+    void setUp() {
+        logFile = directory.resolve("app.log");
+    }
+
+    @Test
+    void rangeCoversOnlyLinesOfRequestedDates() throws IOException {
+        write(FIRST_DAY + SECOND_DAY + THIRD_DAY);
+        LogOffsetIndex index = new LogOffsetIndex(logFile.toString());
+
+        long[] range = index.range(DAY, DAY);
+
+        assertEquals(SECOND_DAY, read(range));
+    }
+
+    @Test
+    void rangeOfDatesWithoutLinesIsEmpty() throws IOException {
+        write(FIRST_DAY + THIRD_DAY);
+        LogOffsetIndex index = new LogOffsetIndex(logFile.toString());
+
+        long[] range = index.range(DAY, DAY);
+
+        assertEquals(range[0], range[1]);
+    }
+
+    @Test
+    void appendedLinesAreIndexedIncrementally() throws IOException {
+        write(FIRST_DAY + SECOND_DAY);
+        LogOffsetIndex index = new LogOffsetIndex(logFile.toString());
+        assertEquals(SECOND_DAY, read(index.range(DAY, DAY.plusDays(1))));
+
+        append(THIRD_DAY);
+
+        assertEquals(SECOND_DAY + THIRD_DAY, read(index.range(DAY, DAY.plusDays(1))));
+    }
+
+    @Test
+    void incompleteLastLineIsNotIndexedUntilFinished() throws IOException {
+        write(FIRST_DAY + "16-10-2026 09:00");
+        LogOffsetIndex index = new LogOffsetIndex(logFile.toString());
+        assertEquals("", read(index.range(DAY, DAY)));
+
+        append(":00 - third\n");
+
+        assertEquals("16-10-2026 09:00:00 - third\n", read(index.range(DAY, DAY)));
+    }
+
+    @Test
+    void indexIsSavedNextToLogAndReused() throws IOException {
+        write(FIRST_DAY + SECOND_DAY + THIRD_DAY);
+        long[] expected = new LogOffsetIndex(logFile.toString()).range(DAY, DAY);
+
+        Path indexFile = directory.resolve("app.log" + LogOffsetIndex.INDEX_SUFFIX);
+        assertTrue(Files.exists(indexFile));
+        assertArrayEquals(expected, new LogOffsetIndex(logFile.toString()).range(DAY, DAY));
+    }
+
+    @Test
+    void brokenIndexFileIsRebuilt() throws IOException {
+        write(FIRST_DAY + SECOND_DAY + THIRD_DAY);
+        Files.writeString(directory.resolve("app.log" + LogOffsetIndex.INDEX_SUFFIX),
+                "garbage");
+
+        LogOffsetIndex index = new LogOffsetIndex(logFile.toString());
+
+        assertEquals(SECOND_DAY, read(index.range(DAY, DAY)));
+    }
+
+    @Test
+    void truncatedLogIsIndexedFromStart() throws IOException {
+        write(FIRST_DAY + SECOND_DAY + THIRD_DAY);
+        LogOffsetIndex index = new LogOffsetIndex(logFile.toString());
+        index.refresh();
+
+        write(SECOND_DAY);
+
+        assertEquals(SECOND_DAY, read(index.range(DAY, DAY)));
+    }
+
+    private void write(String text) throws IOException {
+        Files.writeString(logFile, text, StandardCharsets.UTF_8);
+    }
+
+    private void append(String text) throws IOException {
+        Files.writeString(logFile, text, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    private String read(long[] range) throws IOException {
+        byte[] bytes = Files.readAllBytes(logFile);
+        return new String(bytes, (int) range[0], (int) (range[1] - range[0]),
+                StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package com.cinema.filmlibrary.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogTaskRegistryTest {
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 17);
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final LogTaskRegistry registry = new LogTaskRegistry(10, 100, TTL, nanos::get);
+
+    @Test
+    void completedTaskOfPastDatesIsReused() throws IOException {
+        Long taskId = completeTask(DAY, "first.log");
+
+        LogTaskRegistry.Registration registration = registry.register(DAY, DAY);
+
+        assertEquals(taskId, registration.taskId());
+        assertFalse(registration.created());
+    }
+
+    @Test
+    void fileOfEvictedTaskIsDeletedWhenNotDownloaded() throws IOException {
+        Long taskId = completeTask(DAY, "first.log");
+        Path file = registry.openDownload(taskId);
+        registry.closeDownload(file);
+
+        expire();
+        registry.deleteUnusedFiles();
+
+        assertNull(registry.get(taskId));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void fileOfEvictedTaskIsKeptUntilDownloadFinishes() throws IOException {
+        Long taskId = completeTask(DAY, "first.log");
+        Path file = registry.openDownload(taskId);
+
+        expire();
+        registry.deleteUnusedFiles();
+        assertTrue(Files.exists(file));
+
+        registry.closeDownload(file);
+        registry.deleteUnusedFiles();
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void evictedTaskCannotBeDownloaded() throws IOException {
+        Long taskId = completeTask(DAY, "first.log");
+        expire();
+        registry.deleteUnusedFiles();
+
+        assertNull(registry.openDownload(taskId));
+    }
+
+    @Test
+    void closeDeletesAllFiles() throws IOException {
+        Long taskId = completeTask(DAY, "first.log");
+        Path file = registry.openDownload(taskId);
+        registry.closeDownload(file);
+
+        registry.close();
+
+        assertFalse(Files.exists(file));
+    }
+
+    private void expire() {
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+    }
+
+    private Long completeTask(LocalDate date, String name) throws IOException {
+        LogTaskRegistry.Registration registration = registry.register(date, date);
+        Path file = Files.writeString(directory.resolve(name), "17-03-2025 10:00:00 - line\n");
+        registry.complete(registration.taskId(), file);
+        return registration.taskId();
+    }
+}
@@ -0,0 +1,84 @@
+package com.cinema.filmlibrary.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cinema.filmlibrary.dto.FilmReviewStatsDto;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.repository.FilmRepository;
+import com.cinema.filmlibrary.repository.FilmReviewStatsRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest
+@TestPropertySource("classpath:test-database.properties")
+class ReviewStatsServiceTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ReviewStatsService reviewStatsService;
+
+    @Autowired
+    private FilmRepository filmRepository;
+
+    @Autowired
+    private FilmReviewStatsRepository statsRepository;
+
+    @Test
+    void concurrentFirstReviewsOfFilmWithoutStatisticsAreAllCounted() throws Exception {
+        Film film = new Film();
+        film.setTitle("Film without statistics");
+        film.setGenre("Drama");
+        film.setReleaseYear(2001);
+        Long filmId = filmRepository.save(film).getId();
+        assertTrue(statsRepository.findById(filmId).isEmpty());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int rating = i % 10 + 1;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return reviewStatsService.reviewAdded(filmId, rating);
+                }));
+            }
+            start.countDown();
+            for (Future<Long> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        FilmReviewStatsDto stats = reviewStatsService.getStats(filmId);
+        assertEquals(THREADS, stats.getReviewCount());
+    }
+
+    @Test
+    void removedReviewIsNotCounted() {
+        Film film = new Film();
+        film.setTitle("Film with one review");
+        film.setGenre("Comedy");
+        film.setReleaseYear(2005);
+        Long filmId = filmRepository.save(film).getId();
+
+        reviewStatsService.reviewAdded(filmId, 4);
+        reviewStatsService.reviewAdded(filmId, 8);
+        reviewStatsService.reviewRemoved(filmId, 4);
+
+        FilmReviewStatsDto stats = reviewStatsService.getStats(filmId);
+        assertEquals(1, stats.getReviewCount());
+        assertEquals(8.0, stats.getAverageRating());
+    }
+}
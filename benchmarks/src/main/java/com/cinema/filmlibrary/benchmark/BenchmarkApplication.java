@@ -0,0 +1,38 @@
+package com.cinema.filmlibrary.benchmark;
+
+import com.cinema.filmlibrary.FilmLibraryApplication;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Class to start the application against embedded database for benchmarks.
+ * env.yml of the developer is not required, SQL is not printed
+ * and the log is written under target instead of app.log.
+ */
+public final class BenchmarkApplication {
+    private BenchmarkApplication() {
+    }
+
+    /** Function to start the application.
+     *
+     * @param webApplicationType NONE to use services directly, SERVLET to send requests
+     * @param database database to connect to
+     * @param logFile file of the application log
+     * @param args additional properties, for example --server.port=0
+     * @return started context
+     */
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType,
+                                                       EmbeddedDatabase database,
+                                                       String logFile, String... args) {
+        List<String> properties = new ArrayList<>(database.properties());
+        properties.add("--spring.config.on-not-found=ignore");
+        properties.add("--spring.jpa.show-sql=false");
+        properties.add("--logging.file.name=" + logFile);
+        properties.addAll(List.of(args));
+        return new SpringApplicationBuilder(FilmLibraryApplication.class)
+                .web(webApplicationType)
+                .run(properties.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,79 @@
+package com.cinema.filmlibrary.benchmark;
+
+import com.cinema.filmlibrary.entity.Director;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.entity.Review;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Class to create synthetic films for benchmarks. */
+public final class BenchmarkData {
+    private static final String[] GENRES = {"Drama", "Comedy", "Thriller", "Horror", "Sci-Fi"};
+
+    private BenchmarkData() {
+    }
+
+    /** Function to create film that is not saved yet.
+     *
+     * @param number number of the film, used in its title
+     * @param directors amount of directors of the film
+     * @param reviews amount of reviews of the film
+     * @param directorPool amount of different directors among all films
+     * @return object of Film class
+     */
+    public static Film film(int number, int directors, int reviews, int directorPool) {
+        Film film = new Film();
+        film.setTitle("Film " + number);
+        film.setGenre(GENRES[number % GENRES.length]);
+        film.setReleaseYear(1950 + number % 70);
+
+        List<Director> filmDirectors = new ArrayList<>(directors);
+        for (int i = 0; i < directors; i++) {
+            filmDirectors.add(director((number + i) % Math.max(directorPool, directors)));
+        }
+        film.setDirectors(filmDirectors);
+
+        List<Review> filmReviews = new ArrayList<>(reviews);
+        for (int i = 0; i < reviews; i++) {
+            Review review = new Review();
+            review.setMessage("Review " + i + " of film " + number);
+            review.setRating(1 + (number + i) % 10);
+            filmReviews.add(review);
+        }
+        film.setReviews(filmReviews);
+        return film;
+    }
+
+    /** Function to create films that are not saved yet.
+     *
+     * @param count amount of films
+     * @param directors amount of directors of every film
+     * @param reviews amount of reviews of every film
+     * @param directorPool amount of different directors among all films
+     * @return list of films
+     */
+    public static List<Film> films(int count, int directors, int reviews, int directorPool) {
+        List<Film> films = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            films.add(film(i, directors, reviews, directorPool));
+        }
+        return films;
+    }
+
+    /** Function to get name of the synthetic director.
+     *
+     * @param number number of the director
+     * @return name of the director
+     */
+    public static String directorName(int number) {
+        return "Director " + number;
+    }
+
+    private static Director director(int number) {
+        Director director = new Director();
+        director.setName(directorName(number));
+        director.setNationality("Nationality " + number % 20);
+        director.setBirthYear(1930 + number % 90);
+        return director;
+    }
+}
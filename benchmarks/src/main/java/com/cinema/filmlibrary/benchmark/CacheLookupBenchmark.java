@@ -0,0 +1,118 @@
+package com.cinema.filmlibrary.benchmark;
+
+import com.cinema.filmlibrary.cache.CacheDependencyTracker;
+import com.cinema.filmlibrary.cache.DependencyTrackingCache;
+import com.cinema.filmlibrary.dto.FilmDto;
+import com.cinema.filmlibrary.mapper.DirectorMapper;
+import com.cinema.filmlibrary.mapper.FilmMapper;
+import com.cinema.filmlibrary.mapper.ReviewMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/** Class to measure lookups in film caches built the same way as in CacheConfig:
+ * Caffeine cache adapted by Spring and wrapped to track dependencies of entries.
+ * Keys are spread over more ids than cache holds, so part of lookups miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheLookupBenchmark {
+    @Param({"5000"})
+    private int maximumSize;
+
+    @Param({"5000", "20000"})
+    private int keys;
+
+    private Cache cache;
+    private FilmDto[] values;
+
+    /** Function to create the cache and fill it with films. */
+    @Setup
+    public void setUp() {
+        CacheDependencyTracker tracker = new CacheDependencyTracker();
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .recordStats()
+                .evictionListener((key, value, cause) -> tracker.forget("filmById", key))
+                .build();
+        cache = new DependencyTrackingCache(new CaffeineCache("filmById", caffeine), tracker);
+
+        FilmMapper filmMapper = new FilmMapper(new DirectorMapper(), new ReviewMapper());
+        values = new FilmDto[keys];
+        for (int i = 0; i < keys; i++) {
+            FilmDto dto = filmMapper.toDto(BenchmarkData.film(i, 2, 5, 100));
+            dto.setId((long) i + 1);
+            values[i] = dto;
+        }
+        for (int i = 0; i < Math.min(keys, maximumSize); i++) {
+            cache.put(values[i].getId(), values[i]);
+        }
+    }
+
+    /** Function to read entry the way @Cacheable without sync does.
+     *
+     * @return found entry or null
+     */
+    @Benchmark
+    @Threads(4)
+    public Cache.ValueWrapper get() {
+        return cache.get(nextKey());
+    }
+
+    /** Function to read entry the way @Cacheable(sync = true) does,
+     * missing entries are loaded once for all threads that wait for them.
+     *
+     * @return found or loaded entry
+     */
+    @Benchmark
+    @Threads(4)
+    public FilmDto getWithLoader() {
+        long key = nextKey();
+        return cache.get(key, () -> values[(int) key - 1]);
+    }
+
+    /** Function to read entries while other thread of the group replaces them.
+     *
+     * @return found entry or null
+     */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Cache.ValueWrapper readWhileWriting() {
+        return cache.get(nextKey());
+    }
+
+    /** Function to replace entries while other threads of the group read them. */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void writeWhileReading() {
+        long key = nextKey();
+        cache.put(key, values[(int) key - 1]);
+    }
+
+    private long nextKey() {
+        return ThreadLocalRandom.current().nextInt(keys) + 1L;
+    }
+}
@@ -0,0 +1,79 @@
+package com.cinema.filmlibrary.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.util.List;
+
+/** Class to hold database the application is started against in benchmarks.
+ * H2 runs in memory of the benchmark, Postgres is started as separate
+ * process from binaries bundled with embedded-postgres and stopped on close.
+ */
+public final class EmbeddedDatabase implements AutoCloseable {
+    public static final String H2 = "h2";
+    public static final String POSTGRES = "postgres";
+
+    private final String type;
+    private final List<String> properties;
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase(String type, List<String> properties, EmbeddedPostgres postgres) {
+        this.type = type;
+        this.properties = properties;
+        this.postgres = postgres;
+    }
+
+    /** Function to start database of the given type.
+     *
+     * @param type h2 or postgres
+     * @param name name of the in-memory H2 database
+     * @return started database
+     * @throws IOException if unable to start Postgres
+     */
+    public static EmbeddedDatabase start(String type, String name) throws IOException {
+        if (H2.equals(type)) {
+            return new EmbeddedDatabase(type, List.of(
+                    "--db.url=jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                    "--db.username=sa",
+                    "--db.password=",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"),
+                    null);
+        }
+        if (POSTGRES.equals(type)) {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            return new EmbeddedDatabase(type, List.of(
+                    "--db.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--db.username=postgres",
+                    "--db.password=postgres",
+                    "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                    "--spring.jpa.properties.hibernate.dialect="
+                            + "org.hibernate.dialect.PostgreSQLDialect"),
+                    postgres);
+        }
+        throw new IllegalArgumentException("Unknown database " + type
+                + ", expected " + H2 + " or " + POSTGRES);
+    }
+
+    public String type() {
+        return type;
+    }
+
+    /** Function to get properties pointing the application to the database.
+     *
+     * @return command line arguments of the application
+     */
+    public List<String> properties() {
+        return properties;
+    }
+
+    /** Function to stop Postgres, H2 is dropped with the application.
+     *
+     * @throws IOException if unable to stop Postgres
+     */
+    @Override
+    public void close() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.cinema.filmlibrary.benchmark;
+
+import com.cinema.filmlibrary.dto.FilmDto;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.mapper.DirectorMapper;
+import com.cinema.filmlibrary.mapper.FilmMapper;
+import com.cinema.filmlibrary.mapper.ReviewMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Class to measure transformation of films to DTOs and back
+ * for different amounts of directors and reviews.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilmMapperBenchmark {
+    @Param({"1", "4", "16"})
+    private int directors;
+
+    @Param({"0", "10", "100"})
+    private int reviews;
+
+    private FilmMapper filmMapper;
+    private Film film;
+    private FilmDto filmDto;
+
+    /** Function to create mapper and film of the benchmark. */
+    @Setup
+    public void setUp() {
+        filmMapper = new FilmMapper(new DirectorMapper(), new ReviewMapper());
+        film = BenchmarkData.film(1, directors, reviews, directors);
+        filmDto = filmMapper.toDto(film);
+    }
+
+    @Benchmark
+    public FilmDto toDto() {
+        return filmMapper.toDto(film);
+    }
+
+    @Benchmark
+    public Film toEntity() {
+        return filmMapper.toEntity(filmDto);
+    }
+}
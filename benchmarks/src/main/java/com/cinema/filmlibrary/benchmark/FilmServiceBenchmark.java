@@ -0,0 +1,122 @@
+package com.cinema.filmlibrary.benchmark;
+
+import com.cinema.filmlibrary.config.CacheConfig;
+import com.cinema.filmlibrary.dto.FilmDto;
+import com.cinema.filmlibrary.service.FilmBulkService;
+import com.cinema.filmlibrary.service.FilmService;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Class to measure read paths of films service against embedded database.
+ * The whole application context is started without web server
+ * and filled with synthetic films before measurement.
+ * Postgres is measured with -p databaseType=postgres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilmServiceBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"2000"})
+    private int films;
+
+    @Param({"10"})
+    private int reviews;
+
+    @Param({EmbeddedDatabase.H2})
+    private String databaseType;
+
+    private EmbeddedDatabase database;
+    private ConfigurableApplicationContext context;
+    private FilmService filmService;
+    private Cache filmByIdCache;
+    private int directorPool;
+
+    /** Function to start the application and save films.
+     *
+     * @throws IOException if unable to start the database
+     */
+    @Setup
+    public void setUp() throws IOException {
+        database = EmbeddedDatabase.start(databaseType, "benchmark");
+        context = BenchmarkApplication.start(WebApplicationType.NONE, database,
+                "target/benchmark.log");
+        filmService = context.getBean(FilmService.class);
+        filmByIdCache = context.getBean(CacheManager.class).getCache(CacheConfig.FILM_BY_ID_CACHE);
+
+        directorPool = Math.max(1, films / 10);
+        context.getBean(FilmBulkService.class)
+                .saveAll(BenchmarkData.films(films, 2, reviews, directorPool));
+        filmService.findAllFilms();
+    }
+
+    /** Function to stop the application and the database.
+     *
+     * @throws IOException if unable to stop the database
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        database.close();
+    }
+
+    @Benchmark
+    public FilmDto findDtoByIdCached() {
+        return filmService.findDtoById(nextId());
+    }
+
+    @Benchmark
+    public FilmDto findDtoByIdUncached() {
+        long id = nextId();
+        filmByIdCache.evict(id);
+        return filmService.findDtoById(id);
+    }
+
+    @Benchmark
+    public List<FilmDto> findFilmsAfter() {
+        return filmService.findFilmsAfter(nextId() - 1, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<FilmDto> findByDirectorName() {
+        return filmService.findByDirectorName(BenchmarkData.directorName(
+                ThreadLocalRandom.current().nextInt(directorPool)));
+    }
+
+    @Benchmark
+    public List<FilmDto> findAllFilms() {
+        return filmService.findAllFilms();
+    }
+
+    @Benchmark
+    public void streamAllFilms(Blackhole blackhole) {
+        filmService.streamAllFilms(blackhole::consume);
+    }
+
+    private long nextId() {
+        return ThreadLocalRandom.current().nextInt(films) + 1L;
+    }
+}
@@ -0,0 +1,126 @@
+package com.cinema.filmlibrary.benchmark;
+
+import com.cinema.filmlibrary.dto.FilmBulkResult;
+import com.cinema.filmlibrary.entity.Film;
+import com.cinema.filmlibrary.service.FilmBulkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Load test of the whole application over HTTP.
+ * The application is started on a free port against embedded H2 or Postgres,
+ * the catalog is seeded and every thread sends requests of the mixed workload
+ * one after another until the duration ends. Results of the warmup are dropped.
+ * Exits with status 1 when p99 latency or error rate of any endpoint breaks the SLO.
+ */
+public final class LoadTest {
+    private static final int SEED_CHUNK = 1000;
+
+    private LoadTest() {
+    }
+
+    /** Function to run the load test.
+     *
+     * @param args options as --name=value, see LoadTestOptions
+     * @throws Exception if unable to start the application or write the report
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions(args);
+        Map<String, Object> summary;
+        try (EmbeddedDatabase database = EmbeddedDatabase.start(options.database(), "loadtest");
+             ConfigurableApplicationContext context = BenchmarkApplication.start(
+                     WebApplicationType.SERVLET, database, "target/load-test.log",
+                     "--server.port=0")) {
+            System.out.printf("Seeding %d films on %s%n", options.films(), database.type());
+            long[] filmIds = seed(context.getBean(FilmBulkService.class), options);
+
+            String baseUrl = "http://localhost:"
+                    + context.getEnvironment().getProperty("local.server.port");
+            LoadTestWorkload workload = new LoadTestWorkload(baseUrl, options,
+                    context.getBean(ObjectMapper.class), filmIds);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+
+            System.out.printf("Warming up for %s with %d threads%n",
+                    options.warmup(), options.threads());
+            run(client, workload, options.threads(), options.warmup(), new LoadTestReport());
+
+            System.out.printf("Measuring for %s%n", options.duration());
+            LoadTestReport report = new LoadTestReport();
+            long start = System.nanoTime();
+            run(client, workload, options.threads(), options.duration(), report);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            summary = report.summary(options, seconds);
+        }
+
+        LoadTestReport.print(summary, System.out);
+        LoadTestReport.write(summary, Path.of(options.result()));
+        System.out.println("Report written to " + options.result());
+        System.exit(Boolean.TRUE.equals(summary.get("sloPassed")) ? 0 : 1);
+    }
+
+    private static long[] seed(FilmBulkService filmBulkService, LoadTestOptions options) {
+        List<Long> ids = new ArrayList<>(options.films());
+        for (int from = 0; from < options.films(); from += SEED_CHUNK) {
+            List<Film> films = new ArrayList<>(SEED_CHUNK);
+            for (int i = from; i < Math.min(from + SEED_CHUNK, options.films()); i++) {
+                films.add(BenchmarkData.film(i, options.directorsPerFilm(),
+                        i % (2 * options.reviews() + 1), options.directors()));
+            }
+            filmBulkService.saveAll(films).stream()
+                    .map(FilmBulkResult::getId)
+                    .filter(Objects::nonNull)
+                    .forEach(ids::add);
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No films were seeded");
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static void run(HttpClient client, LoadTestWorkload workload, int threads,
+                            Duration duration, LoadTestReport report)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    LoadTestWorkload.Operation operation = workload.next();
+                    HttpRequest request = operation.request().get();
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request,
+                                HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = 0;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    report.record(operation.endpoint(), status, System.nanoTime() - start);
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toNanos() + TimeUnit.MINUTES.toNanos(1),
+                TimeUnit.NANOSECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
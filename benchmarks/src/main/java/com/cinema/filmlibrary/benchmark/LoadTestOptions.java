@@ -0,0 +1,128 @@
+package com.cinema.filmlibrary.benchmark;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/** Class to hold options of the load test given as --name=value arguments.
+ * Options not given keep their defaults, unknown options are rejected,
+ * so misspelled ones do not silently run the default workload.
+ */
+public class LoadTestOptions {
+    private static final String DEFAULT_MIX =
+            "byId:35,reviews:20,title:15,director:15,reviewCount:5,review:5,bulk:5";
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    /** Constructor of the class.
+     *
+     * @param args arguments of the load test
+     */
+    public LoadTestOptions(String[] args) {
+        values.put("database", EmbeddedDatabase.H2);
+        values.put("films", "10000");
+        values.put("directors", "1000");
+        values.put("directors-per-film", "2");
+        values.put("reviews", "10");
+        values.put("threads", "16");
+        values.put("warmup", "15s");
+        values.put("duration", "60s");
+        values.put("bulk-size", "20");
+        values.put("mix", DEFAULT_MIX);
+        values.put("slo-p99", "250ms");
+        values.put("slo-error-rate", "0.001");
+        values.put("result", "target/load-test-result.json");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option " + name
+                        + ", known options are " + values.keySet());
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+    }
+
+    public String database() {
+        return values.get("database");
+    }
+
+    public int films() {
+        return Integer.parseInt(values.get("films"));
+    }
+
+    public int directors() {
+        return Integer.parseInt(values.get("directors"));
+    }
+
+    public int directorsPerFilm() {
+        return Integer.parseInt(values.get("directors-per-film"));
+    }
+
+    /** Function to get average amount of reviews of seeded films.
+     * Films get from 0 to twice this amount, so searches by review count
+     * return only part of the catalog.
+     *
+     * @return average amount of reviews
+     */
+    public int reviews() {
+        return Integer.parseInt(values.get("reviews"));
+    }
+
+    public int threads() {
+        return Integer.parseInt(values.get("threads"));
+    }
+
+    public Duration warmup() {
+        return DurationStyle.detectAndParse(values.get("warmup"));
+    }
+
+    public Duration duration() {
+        return DurationStyle.detectAndParse(values.get("duration"));
+    }
+
+    public int bulkSize() {
+        return Integer.parseInt(values.get("bulk-size"));
+    }
+
+    public String result() {
+        return values.get("result");
+    }
+
+    public Duration sloP99() {
+        return DurationStyle.detectAndParse(values.get("slo-p99"));
+    }
+
+    public double sloErrorRate() {
+        return Double.parseDouble(values.get("slo-error-rate"));
+    }
+
+    /** Function to get weights of operations in the workload.
+     *
+     * @return weight of every operation by its name, in the given order
+     */
+    public Map<String, Integer> mix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : values.get("mix").split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix, got "
+                        + entry);
+            }
+            mix.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return mix;
+    }
+
+    /** Function to get all options with their values for the report.
+     *
+     * @return options by name
+     */
+    public Map<String, String> asMap() {
+        return new LinkedHashMap<>(values);
+    }
+}
@@ -0,0 +1,132 @@
+package com.cinema.filmlibrary.benchmark;
+
+import com.cinema.filmlibrary.metrics.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Class to collect results of the load test and check them against SLO.
+ * Latencies are measured by the client, so they include serialization
+ * and time spent waiting for a free server thread or connection.
+ */
+public class LoadTestReport {
+    private final Map<String, EndpointResult> endpoints = new ConcurrentHashMap<>();
+
+    /** Results of one endpoint. */
+    private static class EndpointResult {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    /** Function to record one sent request.
+     *
+     * @param endpoint endpoint of the request
+     * @param status status of the response, 0 if no response was received
+     * @param nanos time from sending the request to reading the whole response
+     */
+    public void record(String endpoint, int status, long nanos) {
+        EndpointResult result = endpoints.computeIfAbsent(endpoint, e -> new EndpointResult());
+        result.latency.record(nanos / 1_000);
+        if (status == 0 || status >= 400) {
+            result.errors.increment();
+        }
+    }
+
+    /** Function to create the report of the measurement.
+     *
+     * @param options options of the load test
+     * @param seconds duration of the measurement
+     * @return report with results of every endpoint and SLO verdict
+     */
+    public Map<String, Object> summary(LoadTestOptions options, double seconds) {
+        long sloMicros = options.sloP99().toNanos() / 1_000;
+        long total = 0;
+        List<String> violations = new ArrayList<>();
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, EndpointResult> entry : new TreeMap<>(endpoints).entrySet()) {
+            LatencyHistogram latency = entry.getValue().latency;
+            long requests = latency.count();
+            long errors = entry.getValue().errors.sum();
+            double errorRate = requests == 0 ? 0 : (double) errors / requests;
+            long p99 = latency.percentileMicros(0.99);
+            total += requests;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", requests);
+            result.put("errors", errors);
+            result.put("throughput", requests / seconds);
+            result.put("meanMs", requests == 0 ? 0 : latency.totalMicros() / 1000.0 / requests);
+            result.put("p50Ms", latency.percentileMicros(0.5) / 1000.0);
+            result.put("p95Ms", latency.percentileMicros(0.95) / 1000.0);
+            result.put("p99Ms", p99 / 1000.0);
+            result.put("maxMs", latency.maxMicros() / 1000.0);
+            results.put(entry.getKey(), result);
+
+            if (p99 > sloMicros) {
+                violations.add(entry.getKey() + ": p99 " + p99 / 1000.0 + " ms");
+            }
+            if (errorRate > options.sloErrorRate()) {
+                violations.add(entry.getKey() + ": error rate " + errorRate);
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("options", options.asMap());
+        summary.put("seconds", seconds);
+        summary.put("requests", total);
+        summary.put("throughput", total / seconds);
+        summary.put("endpoints", results);
+        summary.put("sloPassed", violations.isEmpty());
+        summary.put("sloViolations", violations);
+        return summary;
+    }
+
+    /** Function to print results of every endpoint as a table.
+     *
+     * @param summary report created by summary
+     * @param out stream to print to
+     */
+    @SuppressWarnings("unchecked")
+    public static void print(Map<String, Object> summary, PrintStream out) {
+        out.printf("%-30s %10s %8s %10s %10s %10s %10s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms");
+        Map<String, Map<String, Object>> results =
+                (Map<String, Map<String, Object>>) summary.get("endpoints");
+        results.forEach((endpoint, result) -> out.printf(
+                "%-30s %10d %8d %10.1f %10.2f %10.2f %10.2f%n", endpoint,
+                result.get("requests"), result.get("errors"), result.get("throughput"),
+                result.get("p50Ms"), result.get("p95Ms"), result.get("p99Ms")));
+        out.printf("Total %d requests, %.1f req/s%n",
+                summary.get("requests"), summary.get("throughput"));
+        if (Boolean.TRUE.equals(summary.get("sloPassed"))) {
+            out.println("SLO passed");
+        } else {
+            out.println("SLO violated: " + summary.get("sloViolations"));
+        }
+    }
+
+    /** Function to write the report as JSON.
+     *
+     * @param summary report created by summary
+     * @param file file to write to, its directories are created
+     * @throws IOException if unable to write the file
+     */
+    public static void write(Map<String, Object> summary, Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), summary);
+    }
+}
@@ -0,0 +1,156 @@
+package com.cinema.filmlibrary.benchmark;
+
+import com.cinema.filmlibrary.entity.Film;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/** Class to create requests of the mixed workload against seeded catalog.
+ * Every operation has weight, operations are picked at random in proportion to it.
+ */
+public class LoadTestWorkload {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper;
+    private final long[] filmIds;
+    private final AtomicInteger nextFilm;
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+
+    /** Operation of the workload.
+     *
+     * @param endpoint endpoint the results are reported under
+     * @param weight share of the operation in the workload
+     * @param request creator of the next request
+     */
+    public record Operation(String endpoint, int weight, Supplier<HttpRequest> request) {
+    }
+
+    /** Constructor of the class.
+     *
+     * @param baseUrl address of the started application
+     * @param options options of the load test
+     * @param objectMapper mapper to write bodies of review and bulk requests
+     * @param filmIds ids of seeded films
+     */
+    public LoadTestWorkload(String baseUrl, LoadTestOptions options,
+                            ObjectMapper objectMapper, long[] filmIds) {
+        this.baseUrl = baseUrl;
+        this.options = options;
+        this.objectMapper = objectMapper;
+        this.filmIds = filmIds;
+        this.nextFilm = new AtomicInteger(options.films());
+
+        int weight = 0;
+        for (Map.Entry<String, Integer> entry : options.mix().entrySet()) {
+            if (entry.getValue() > 0) {
+                operations.add(operation(entry.getKey(), entry.getValue()));
+                weight += entry.getValue();
+            }
+        }
+        if (weight == 0) {
+            throw new IllegalArgumentException("Workload mix has no operations");
+        }
+        this.totalWeight = weight;
+    }
+
+    public List<Operation> operations() {
+        return operations;
+    }
+
+    /** Function to pick the next operation.
+     *
+     * @return operation picked in proportion to its weight
+     */
+    public Operation next() {
+        int point = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            point -= operation.weight();
+            if (point < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private Operation operation(String name, int weight) {
+        return switch (name) {
+            case "byId" -> new Operation("GET /films/{id}", weight,
+                    () -> get("/films/" + randomFilmId()));
+            case "reviews" -> new Operation("GET /films/{filmId}/reviews", weight,
+                    () -> get("/films/" + randomFilmId() + "/reviews"));
+            case "title" -> new Operation("GET /films", weight,
+                    () -> get("/films?title=" + encode("Film "
+                            + ThreadLocalRandom.current().nextInt(options.films()))));
+            case "director" -> new Operation("GET /films/find", weight,
+                    () -> get("/films/find?directorName=" + encode(BenchmarkData.directorName(
+                            ThreadLocalRandom.current().nextInt(options.directors())))));
+            case "reviewCount" -> new Operation("GET /films/find/reviews", weight,
+                    () -> get("/films/find/reviews?reviewCount=" + ThreadLocalRandom.current()
+                            .nextInt(options.reviews(), 2 * options.reviews() + 1)));
+            case "review" -> new Operation("POST /films/{filmId}/reviews", weight,
+                    this::review);
+            case "bulk" -> new Operation("POST /films/bulk", weight, this::bulk);
+            default -> throw new IllegalArgumentException("Unknown operation " + name
+                    + ", known operations are byId, reviews, title, director, reviewCount,"
+                    + " review, bulk");
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest review() {
+        int rating = 1 + ThreadLocalRandom.current().nextInt(10);
+        return post("/films/" + randomFilmId() + "/reviews",
+                Map.of("message", "Load test review", "rating", rating));
+    }
+
+    private HttpRequest bulk() {
+        int first = nextFilm.getAndAdd(options.bulkSize());
+        List<Film> films = new ArrayList<>(options.bulkSize());
+        for (int i = 0; i < options.bulkSize(); i++) {
+            films.add(BenchmarkData.film(first + i, options.directorsPerFilm(),
+                    options.reviews(), options.directors()));
+        }
+        return post("/films/bulk", films);
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long randomFilmId() {
+        return filmIds[ThreadLocalRandom.current().nextInt(filmIds.length)];
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,122 @@
+package com.cinema.filmlibrary.benchmark;
+
+import com.cinema.filmlibrary.service.LogExtractor;
+import com.cinema.filmlibrary.service.LogOffsetIndex;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Class to measure filtering of log lines by dates, the work done by log creation tasks.
+ * Synthetic log of the given size covers the given amount of days,
+ * every hundredth line is followed by a stack trace without date.
+ * Multi-gigabyte logs are measured with -p logSizeMb=2048.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LogExtractorBenchmark {
+    private static final DateTimeFormatter LINE_DATE =
+            DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    @Param({"256"})
+    private int logSizeMb;
+
+    @Param({"30"})
+    private int days;
+
+    private Path directory;
+    private Path target;
+    private LogExtractor logExtractor;
+
+    /** Function to write synthetic log and index it.
+     *
+     * @throws IOException if unable to write the log
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("log-benchmark");
+        target = directory.resolve("extracted.log");
+        Path logFile = directory.resolve("app.log");
+        writeLog(logFile, (long) logSizeMb * 1024 * 1024);
+
+        LogOffsetIndex logOffsetIndex = new LogOffsetIndex(logFile.toString());
+        logOffsetIndex.refresh();
+        logExtractor = new LogExtractor(logFile.toString(), logOffsetIndex);
+    }
+
+    /** Function to delete the log and extracted lines.
+     *
+     * @throws IOException if unable to delete files
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long extractOneDay() throws IOException {
+        LocalDate day = FIRST_DAY.plusDays(days / 2);
+        return logExtractor.extract(day, day, target);
+    }
+
+    @Benchmark
+    public long extractWeek() throws IOException {
+        LocalDate from = FIRST_DAY.plusDays(days / 2);
+        return logExtractor.extract(from, from.plusDays(6), target);
+    }
+
+    @Benchmark
+    public long extractAll() throws IOException {
+        return logExtractor.extract(FIRST_DAY, FIRST_DAY.plusDays(days), target);
+    }
+
+    private void writeLog(Path logFile, long size) throws IOException {
+        String message = " - c.c.f.controller.FilmController : Request handled, films=";
+        String stackTrace = "java.lang.IllegalStateException: synthetic\n"
+                + "\tat com.cinema.filmlibrary.service.FilmService.findById(FilmService.java:1)\n";
+        long bytesPerLine = LINE_DATE.format(FIRST_DAY.atStartOfDay()).length()
+                + message.length() + 6;
+        long lines = size / bytesPerLine;
+        long nanosPerLine = TimeUnit.DAYS.toNanos(days) / lines;
+        LocalDateTime start = FIRST_DAY.atStartOfDay();
+        try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8)) {
+            for (long i = 0; i < lines; i++) {
+                writer.write(LINE_DATE.format(start.plusNanos(i * nanosPerLine)));
+                writer.write(message);
+                writer.write(Long.toString(i % 100_000));
+                writer.newLine();
+                if (i % 100 == 0) {
+                    writer.write(stackTrace);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.cinema.filmlibrary.benchmark;
+
+import com.cinema.filmlibrary.metrics.RequestMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Class to measure recording of requests by many threads at once.
+ * Every handled request passes through the recording, so its cost
+ * must not grow with the amount of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMetricsBenchmark {
+    private static final int[] STATUSES = {200, 200, 200, 201, 204, 304, 400, 404, 500};
+
+    @Param({"1", "8"})
+    private int endpointCount;
+
+    private RequestMetrics requestMetrics;
+    private String[] endpoints;
+
+    /** Function to create metrics and register all endpoints. */
+    @Setup
+    public void setUp() {
+        requestMetrics = new RequestMetrics(new SimpleMeterRegistry());
+        endpoints = new String[endpointCount];
+        for (int i = 0; i < endpointCount; i++) {
+            endpoints[i] = "GET /films/endpoint" + i;
+            requestMetrics.record(endpoints[i], 200, 1_000);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordOneThread() {
+        record();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordFourThreads() {
+        record();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void recordAllCores() {
+        record();
+    }
+
+    private void record() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        requestMetrics.record(endpoints[random.nextInt(endpointCount)],
+                STATUSES[random.nextInt(STATUSES.length)], random.nextLong(100_000, 50_000_000));
+    }
+}
@@ -1,25 +0,0 @@
-package com.cinema.filmlibrary.config;
-
-import java.util.concurrent.Executor;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-/** Class to make configuration actions for asynchronous tasks. */
-@Configuration
-@EnableAsync
-public class AsyncConfig {
-
-    /** Constructor of the main object that control all asynchronous tasks. */
-    @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("LogTask-");
-        executor.initialize();
-        return executor;
-    }
-}
\ No newline at end of file